@@ -0,0 +1,48 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountBenchmark {
+    private Amount balance;
+    private Amount amount;
+
+    @Setup
+    public void setUp() throws NegativeAmountException {
+        balance = Amount.of(new BigDecimal("123456.78"));
+        amount = Amount.of(new BigDecimal("42.10"));
+    }
+
+    @Benchmark
+    public Amount add() throws NegativeAmountException {
+        return balance.add(amount);
+    }
+
+    @Benchmark
+    public Amount subtract() throws NegativeAmountException {
+        return balance.subtract(amount);
+    }
+
+    @Benchmark
+    public String toCurrencyString() {
+        return balance.toCurrencyString();
+    }
+}
@@ -0,0 +1,95 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BankServiceBenchmark {
+    private static final int HOT_CLIENTS = 4;
+    private static final int SPREAD_CLIENTS = 4096;
+
+    private final Amount depositAmount = amount(100);
+    private final Amount withdrawalAmount = amount(1);
+
+    private List<UUID> hotClients;
+    private List<UUID> spreadClients;
+    private BankService bankService;
+
+    @Setup
+    public void setUp() throws NegativeAmountException {
+        hotClients = Stream.generate(UUID::randomUUID).limit(HOT_CLIENTS).toList();
+        spreadClients = Stream.generate(UUID::randomUUID).limit(SPREAD_CLIENTS).toList();
+
+        final var operationRepository = new LatestOperationRepository();
+        final var clients = Stream.concat(hotClients.stream(), spreadClients.stream()).toList();
+        final var initialBalance = Amount.ofMinorUnits(Long.MAX_VALUE / 4);
+        for(UUID clientId : clients) {
+            operationRepository.save(new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, initialBalance, initialBalance, LocalDateTime.now(), "initial"));
+        }
+
+        bankService = new BankService(Clock.systemUTC(), new KnownClientRepository(clients), operationRepository, statement -> {});
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BankOperation deposit() throws ClientNotFoundException {
+        return bankService.deposit(hotClients.get(0), depositAmount, "deposit");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BankOperation withdraw() throws ClientNotFoundException, NegativeBalanceException {
+        return bankService.withdraw(hotClients.get(0), withdrawalAmount);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BankOperation depositContended() throws ClientNotFoundException {
+        return bankService.deposit(hotClients.get(ThreadLocalRandom.current().nextInt(HOT_CLIENTS)), depositAmount, "deposit");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BankOperation withdrawContended() throws ClientNotFoundException, NegativeBalanceException {
+        return bankService.withdraw(hotClients.get(ThreadLocalRandom.current().nextInt(HOT_CLIENTS)), withdrawalAmount);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public BankOperation depositSpread() throws ClientNotFoundException {
+        return bankService.deposit(spreadClients.get(ThreadLocalRandom.current().nextInt(SPREAD_CLIENTS)), depositAmount, "deposit");
+    }
+
+    private static Amount amount(long minorUnits) {
+        try {
+            return Amount.ofMinorUnits(minorUnits);
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.persistence.BankClientRepository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+class KnownClientRepository implements BankClientRepository {
+    private final Set<UUID> clients;
+
+    KnownClientRepository(List<UUID> clients) {
+        this.clients = Set.copyOf(clients);
+    }
+
+    @Override
+    public boolean existsById(UUID clientId) {
+        return clients.contains(clientId);
+    }
+
+    @Override
+    public Stream<UUID> findAllIds() {
+        return clients.stream();
+    }
+}
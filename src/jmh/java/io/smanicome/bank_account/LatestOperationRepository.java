@@ -0,0 +1,29 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+class LatestOperationRepository implements BankOperationRepository {
+    private final Map<UUID, BankOperation> latestOperations = new ConcurrentHashMap<>();
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        latestOperations.put(operation.clientId(), operation);
+        return operation;
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        return Optional.ofNullable(latestOperations.get(clientId));
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        return findLatestOperationByClientId(clientId).map(List::of).orElse(List.of());
+    }
+}
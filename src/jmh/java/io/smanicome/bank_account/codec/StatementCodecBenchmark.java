@@ -0,0 +1,93 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementCodecBenchmark {
+    private static final String[] LABELS = { "deposit", "withdrawal", "salary", "rent" };
+
+    @Param({"10", "10000"})
+    private int operationCount;
+
+    private Statement statement;
+    private BankOperation operation;
+    private ByteBuffer statementBuffer;
+    private ByteBuffer operationBuffer;
+    private ByteBuffer encodedStatement;
+    private ByteBuffer encodedOperation;
+
+    @Setup
+    public void setUp() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        final List<BankOperation> operations = new ArrayList<>(operationCount);
+        long balance = 0;
+        for(int i = 0; i < operationCount; i++) {
+            final long amount = 100 + i % 1000;
+            balance += amount;
+            operations.add(new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(amount), Amount.ofMinorUnits(balance), start.plusMinutes(i), LABELS[i % LABELS.length]));
+        }
+        statement = new Statement(clientId, operations, start.plusYears(1));
+        operation = operations.getLast();
+
+        final int statementSize = StatementCodec.encodedSize(statement);
+        statementBuffer = ByteBuffer.allocateDirect(statementSize);
+        operationBuffer = ByteBuffer.allocateDirect(BankOperationCodec.encodedSize(operation));
+        encodedStatement = ByteBuffer.allocateDirect(statementSize);
+        StatementCodec.encode(statement, encodedStatement);
+        encodedStatement.flip();
+        encodedOperation = ByteBuffer.allocateDirect(operationBuffer.capacity());
+        BankOperationCodec.encode(operation, encodedOperation);
+        encodedOperation.flip();
+    }
+
+    @Benchmark
+    public ByteBuffer encodeStatement() {
+        statementBuffer.clear();
+        StatementCodec.encode(statement, statementBuffer);
+        return statementBuffer;
+    }
+
+    @Benchmark
+    public Statement decodeStatement() {
+        return StatementCodec.decode(encodedStatement.rewind());
+    }
+
+    @Benchmark
+    public ByteBuffer encodeOperation() {
+        operationBuffer.clear();
+        BankOperationCodec.encode(operation, operationBuffer);
+        return operationBuffer;
+    }
+
+    @Benchmark
+    public BankOperation decodeOperation() {
+        return BankOperationCodec.decode(encodedOperation.rewind());
+    }
+}
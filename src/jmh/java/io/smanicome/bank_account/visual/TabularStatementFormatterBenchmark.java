@@ -0,0 +1,62 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TabularStatementFormatterBenchmark {
+    @Param({"10", "10000", "1000000"})
+    private int operationCount;
+
+    private final TabularStatementFormatter formatter = new TabularStatementFormatter();
+    private final LegacyTabularStatementFormatter legacyFormatter = new LegacyTabularStatementFormatter();
+    private Statement statement;
+
+    @Setup
+    public void setUp() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        final List<BankOperation> operations = new ArrayList<>(operationCount);
+        long balance = 0;
+        for(int i = 0; i < operationCount; i++) {
+            final long amount = 100 + i % 1000;
+            balance += amount;
+            operations.add(new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(amount), Amount.ofMinorUnits(balance), start.plusMinutes(i), "deposit"));
+        }
+        statement = new Statement(clientId, operations, start.plusYears(1));
+    }
+
+    @Benchmark
+    public List<String> format() {
+        return formatter.format(statement);
+    }
+
+    @Benchmark
+    public List<String> formatLegacy() {
+        return legacyFormatter.format(statement);
+    }
+}
@@ -1,36 +1,62 @@
 package io.smanicome.bank_account;
 
+import io.smanicome.bank_account.exceptions.AmountOutOfRangeException;
 import io.smanicome.bank_account.exceptions.NegativeAmountException;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Objects;
 
 public class Amount implements Comparable<Amount> {
-    public static final Amount ZERO = new Amount(BigDecimal.ZERO);
-    private final BigDecimal value;
+    public static final int SCALE = 2;
+    private static final long MINOR_UNITS_PER_UNIT = 100;
 
-    private Amount(BigDecimal value) {
-        this.value = value;
+    public static final Amount ZERO = new Amount(0);
+    private final long minorUnits;
+
+    private Amount(long minorUnits) {
+        this.minorUnits = minorUnits;
     }
 
     public static Amount of(BigDecimal value) throws NegativeAmountException {
         if(value.signum() == -1) throw new NegativeAmountException();
-        return new Amount(value);
+        try {
+            return new Amount(value.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException();
+        }
     }
 
+    public static Amount ofMinorUnits(long minorUnits) throws NegativeAmountException {
+        if(minorUnits < 0) throw new NegativeAmountException();
+        if(minorUnits == 0) return ZERO;
+        return new Amount(minorUnits);
+    }
 
     public Amount add(Amount amount) throws NegativeAmountException {
-        return Amount.of(value.add(amount.value));
+        try {
+            return new Amount(Math.addExact(minorUnits, amount.minorUnits));
+        } catch (ArithmeticException e) {
+            throw new AmountOutOfRangeException();
+        }
     }
 
     public Amount subtract(Amount amount) throws NegativeAmountException {
-        return Amount.of(value.subtract(amount.value));
+        final long result = minorUnits - amount.minorUnits;
+        if(result < 0) throw new NegativeAmountException();
+        return new Amount(result);
+    }
+
+    public long toMinorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
     }
 
     @Override
     public int compareTo(Amount amount) {
-        return value.compareTo(amount.value);
+        return Long.compare(minorUnits, amount.minorUnits);
     }
 
     @Override
@@ -38,15 +64,25 @@ public class Amount implements Comparable<Amount> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Amount amount = (Amount) o;
-        return Objects.equals(value, amount.value);
+        return minorUnits == amount.minorUnits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Long.hashCode(minorUnits);
     }
 
     public String toCurrencyString() {
-        return value.setScale(2, RoundingMode.HALF_EVEN).toString();
+        final long units = minorUnits / MINOR_UNITS_PER_UNIT;
+        final int cents = (int) (minorUnits % MINOR_UNITS_PER_UNIT);
+
+        final var builder = new StringBuilder(24).append(units).append('.');
+        if(cents < 10) builder.append('0');
+        return builder.append(cents).toString();
+    }
+
+    @Override
+    public String toString() {
+        return toCurrencyString();
     }
 }
@@ -0,0 +1,82 @@
+package io.smanicome.bank_account;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+public class AsyncBankService implements IAsyncBankService, AutoCloseable {
+    private final IBankService bankService;
+    private final Semaphore inFlightCalls;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<UUID, CompletableFuture<Void>> clientQueues = new ConcurrentHashMap<>();
+
+    public AsyncBankService(IBankService bankService, int maxInFlightCalls) {
+        this.bankService = bankService;
+        this.inFlightCalls = new Semaphore(maxInFlightCalls, true);
+    }
+
+    @Override
+    public CompletableFuture<BankOperation> deposit(UUID clientId, Amount amount, String label) {
+        return submit(clientId, () -> bankService.deposit(clientId, amount, label));
+    }
+
+    @Override
+    public CompletableFuture<BankOperation> withdraw(UUID clientId, Amount amount) {
+        return submit(clientId, () -> bankService.withdraw(clientId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Void> printAccountStatement(UUID clientId) {
+        return submit(clientId, () -> {
+            bankService.printAccountStatement(clientId);
+            return null;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private <T> CompletableFuture<T> submit(UUID clientId, BlockingCall<T> call) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        clientQueues.compute(clientId, (id, previous) -> {
+            if(previous == null) {
+                executor.execute(() -> run(clientId, call, result, done));
+            } else {
+                previous.whenComplete((ignored, error) -> executor.execute(() -> run(clientId, call, result, done)));
+            }
+            return done;
+        });
+        return result;
+    }
+
+    private <T> void run(UUID clientId, BlockingCall<T> call, CompletableFuture<T> result, CompletableFuture<Void> done) {
+        try {
+            inFlightCalls.acquire();
+            try {
+                result.complete(call.call());
+            } finally {
+                inFlightCalls.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        } finally {
+            clientQueues.remove(clientId, done);
+            done.complete(null);
+        }
+    }
+
+    private interface BlockingCall<T> {
+        T call() throws Exception;
+    }
+}
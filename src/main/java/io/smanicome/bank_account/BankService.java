@@ -1,38 +1,258 @@
 package io.smanicome.bank_account;
 
+import io.smanicome.bank_account.concurrency.StripedLocks;
 import io.smanicome.bank_account.exceptions.ClientNotFoundException;
 import io.smanicome.bank_account.exceptions.NegativeAmountException;
 import io.smanicome.bank_account.exceptions.NegativeBalanceException;
 import io.smanicome.bank_account.persistence.BankClientRepository;
 import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.IdempotencyStore;
+import io.smanicome.bank_account.persistence.InMemoryIdempotencyStore;
 import io.smanicome.bank_account.visual.StatementWriter;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
 
 public class BankService implements IBankService {
+    static final String WITHDRAWAL_LABEL = "withdrawal";
+    static final String TRANSFER_TO_LABEL = "transfer to ";
+    static final String TRANSFER_FROM_LABEL = "transfer from ";
+    static final Duration DEFAULT_IDEMPOTENCY_RETENTION = Duration.ofHours(24);
+    static final int DEFAULT_IDEMPOTENCY_KEYS = 100_000;
+
     private final Clock clock;
     private final BankClientRepository bankClientRepository;
     private final BankOperationRepository bankOperationRepository;
     private final StatementWriter statementWriter;
+    private final StripedLocks clientLocks;
+    private final IdempotencyStore idempotencyStore;
 
     public BankService(Clock clock, BankClientRepository bankClientRepository, BankOperationRepository bankOperationRepository, StatementWriter statementWriter) {
+        this(clock, bankClientRepository, bankOperationRepository, statementWriter, StripedLocks.forAvailableProcessors());
+    }
+
+    public BankService(Clock clock, BankClientRepository bankClientRepository, BankOperationRepository bankOperationRepository, StatementWriter statementWriter, StripedLocks clientLocks) {
+        this(clock, bankClientRepository, bankOperationRepository, statementWriter, clientLocks, new InMemoryIdempotencyStore(clock, DEFAULT_IDEMPOTENCY_RETENTION, DEFAULT_IDEMPOTENCY_KEYS));
+    }
+
+    public BankService(Clock clock, BankClientRepository bankClientRepository, BankOperationRepository bankOperationRepository, StatementWriter statementWriter, StripedLocks clientLocks, IdempotencyStore idempotencyStore) {
         this.clock = clock;
         this.bankClientRepository = bankClientRepository;
         this.bankOperationRepository = bankOperationRepository;
         this.statementWriter = statementWriter;
+        this.clientLocks = clientLocks;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @Override
     public BankOperation deposit(UUID clientId, Amount amount, String label) throws ClientNotFoundException {
+        return deposited(applyDeposit(clientId, amount, label, null));
+    }
+
+    @Override
+    public BankOperation deposit(UUID clientId, Amount amount, String label, String idempotencyKey) throws ClientNotFoundException {
+        return deposited(applyDeposit(clientId, amount, label, Objects.requireNonNull(idempotencyKey)));
+    }
+
+    @Override
+    public BankOperation withdraw(UUID clientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException {
+        return withdrawn(applyWithdrawal(clientId, amount, null));
+    }
+
+    @Override
+    public BankOperation withdraw(UUID clientId, Amount amount, String idempotencyKey) throws ClientNotFoundException, NegativeBalanceException {
+        return withdrawn(applyWithdrawal(clientId, amount, Objects.requireNonNull(idempotencyKey)));
+    }
+
+    @Override
+    public OperationResult tryDeposit(UUID clientId, Amount amount, String label) {
+        return applyDeposit(clientId, amount, label, null);
+    }
+
+    @Override
+    public OperationResult tryDeposit(UUID clientId, Amount amount, String label, String idempotencyKey) {
+        return applyDeposit(clientId, amount, label, Objects.requireNonNull(idempotencyKey));
+    }
+
+    @Override
+    public OperationResult tryWithdraw(UUID clientId, Amount amount) {
+        return applyWithdrawal(clientId, amount, null);
+    }
+
+    @Override
+    public OperationResult tryWithdraw(UUID clientId, Amount amount, String idempotencyKey) {
+        return applyWithdrawal(clientId, amount, Objects.requireNonNull(idempotencyKey));
+    }
+
+    @Override
+    public Transfer transfer(UUID fromClientId, UUID toClientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException {
+        if(fromClientId.equals(toClientId)) throw new IllegalArgumentException("cannot transfer to the same client");
+        assertThatClientExists(fromClientId);
+        assertThatClientExists(toClientId);
+
+        final List<Lock> locks = clientLocks.locksFor(List.of(fromClientId, toClientId));
+        locks.forEach(Lock::lock);
+        try {
+            final Amount currentBalance = getCurrentBalance(fromClientId);
+            if(currentBalance.compareTo(amount) < 0) throw new NegativeBalanceException();
+
+            final Amount debitedBalance = currentBalance.subtract(amount);
+            final Amount creditedBalance = getCurrentBalance(toClientId).add(amount);
+            final LocalDateTime date = LocalDateTime.now(clock);
+
+            final List<BankOperation> saved = bankOperationRepository.saveAll(List.of(
+                    new BankOperation(null, fromClientId, BankOperation.OperationType.WITHDRAWAL, amount, debitedBalance, date, TRANSFER_TO_LABEL + toClientId),
+                    new BankOperation(null, toClientId, BankOperation.OperationType.DEPOSIT, amount, creditedBalance, date, TRANSFER_FROM_LABEL + fromClientId)
+            ));
+            return new Transfer(saved.get(0), saved.get(1));
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        } finally {
+            unlockInReverse(locks);
+        }
+    }
+
+    @Override
+    public List<BatchOutcome> applyBatch(List<BatchEntry> entries) {
+        final Map<UUID, List<Integer>> entryIndicesByClient = new LinkedHashMap<>();
+        for(int i = 0; i < entries.size(); i++) {
+            entryIndicesByClient.computeIfAbsent(entries.get(i).clientId(), clientId -> new ArrayList<>()).add(i);
+        }
+
+        final BatchOutcome[] outcomes = new BatchOutcome[entries.size()];
+        final List<UUID> knownClients = new ArrayList<>(entryIndicesByClient.size());
+        entryIndicesByClient.forEach((clientId, indices) -> {
+            if(bankClientRepository.existsById(clientId)) {
+                knownClients.add(clientId);
+            } else {
+                indices.forEach(index -> outcomes[index] = BatchOutcome.rejected(entries.get(index), BatchOutcome.Status.CLIENT_NOT_FOUND));
+            }
+        });
+
+        final List<Lock> locks = clientLocks.locksFor(knownClients);
+        locks.forEach(Lock::lock);
+        try {
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final List<BankOperation> operationsToSave = new ArrayList<>(entries.size());
+            final List<Integer> savedIndices = new ArrayList<>(entries.size());
+
+            for(UUID clientId : knownClients) {
+                Amount balance = getCurrentBalance(clientId);
+                for(int index : entryIndicesByClient.get(clientId)) {
+                    final BatchEntry entry = entries.get(index);
+                    if(entry.operationType() == BankOperation.OperationType.WITHDRAWAL && balance.compareTo(entry.amount()) < 0) {
+                        outcomes[index] = BatchOutcome.rejected(entry, BatchOutcome.Status.NEGATIVE_BALANCE);
+                        continue;
+                    }
+
+                    try {
+                        balance = switch (entry.operationType()) {
+                            case DEPOSIT -> balance.add(entry.amount());
+                            case WITHDRAWAL -> balance.subtract(entry.amount());
+                        };
+                    } catch (ArithmeticException e) {
+                        outcomes[index] = BatchOutcome.rejected(entry, BatchOutcome.Status.BALANCE_OVERFLOW);
+                        continue;
+                    } catch (NegativeAmountException e) {
+                        throw new AssertionError(e);
+                    }
+
+                    operationsToSave.add(new BankOperation(null, clientId, entry.operationType(), entry.amount(), balance, date, entry.label()));
+                    savedIndices.add(index);
+                }
+            }
+
+            if(operationsToSave.isEmpty()) return List.of(outcomes);
+
+            final List<BankOperation> savedOperations = bankOperationRepository.saveAll(operationsToSave);
+            for(int i = 0; i < savedIndices.size(); i++) {
+                final int index = savedIndices.get(i);
+                outcomes[index] = BatchOutcome.applied(entries.get(index), savedOperations.get(i));
+            }
+        } finally {
+            unlockInReverse(locks);
+        }
+
+        return List.of(outcomes);
+    }
+
+    @Override
+    public Amount balanceAt(UUID clientId, LocalDateTime date) throws ClientNotFoundException {
         assertThatClientExists(clientId);
+        return bankOperationRepository.findBalanceAt(clientId, date);
+    }
+
+    @Override
+    public Map<UUID, Amount> balancesAt(Collection<UUID> clientIds, LocalDateTime date) {
+        final Map<UUID, Future<Amount>> lookups = new LinkedHashMap<>();
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(UUID clientId : clientIds) {
+                if(lookups.containsKey(clientId)) continue;
+                lookups.put(clientId, executor.submit(() -> bankClientRepository.existsById(clientId) ? bankOperationRepository.findBalanceAt(clientId, date) : null));
+            }
+        }
+
+        final Map<UUID, Amount> balances = new HashMap<>(lookups.size());
+        lookups.forEach((clientId, lookup) -> {
+            final Amount balance = resultOf(lookup);
+            if(balance != null) balances.put(clientId, balance);
+        });
+        return balances;
+    }
+
+    @Override
+    public void printAccountStatement(UUID clientId) throws ClientNotFoundException {
+        assertThatClientExists(clientId);
+
+        final List<BankOperation> operations = bankOperationRepository.findByAccountId(clientId);
+        final Statement statement = new Statement(clientId, operations, LocalDateTime.now(clock));
+
+        statementWriter.write(statement);
+    }
+
+    @Override
+    public void printAccountStatement(UUID clientId, LocalDateTime from, LocalDateTime to) throws ClientNotFoundException {
+        assertThatClientExists(clientId);
+
+        final List<BankOperation> operations = bankOperationRepository.findByAccountIdBetween(clientId, from, to);
+        final Statement statement = new Statement(clientId, operations, LocalDateTime.now(clock));
 
-        final Amount currentBalance = getCurrentBalance(clientId);
+        statementWriter.write(statement);
+    }
 
+    private OperationResult applyDeposit(UUID clientId, Amount amount, String label, String idempotencyKey) {
+        if(!bankClientRepository.existsById(clientId)) return new OperationResult.UnknownClient(clientId);
+
+        final Lock lock = clientLocks.lockFor(clientId);
+        lock.lock();
         try {
-            final Amount newBalance = currentBalance.add(amount);
+            if(idempotencyKey != null) {
+                final Optional<BankOperation> original = idempotencyStore.find(clientId, idempotencyKey);
+                if(original.isPresent()) return new OperationResult.Applied(original.get());
+            }
+
+            final Amount currentBalance = getCurrentBalance(clientId);
+            final Amount newBalance;
+            try {
+                newBalance = currentBalance.add(amount);
+            } catch (ArithmeticException e) {
+                return new OperationResult.BalanceOverflow(clientId, currentBalance, amount);
+            }
             final BankOperation operation = new BankOperation(
                     null,
                     clientId,
@@ -42,19 +262,28 @@ public class BankService implements IBankService {
                     LocalDateTime.now(clock),
                     label);
 
-            return bankOperationRepository.save(operation);
+            return new OperationResult.Applied(save(clientId, idempotencyKey, operation));
         } catch (NegativeAmountException e) {
             throw new AssertionError(e);
+        } finally {
+            lock.unlock();
         }
     }
 
-    @Override
-    public BankOperation withdraw(UUID clientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException {
-        assertThatClientExists(clientId);
-
-        final Amount currentBalance = getCurrentBalance(clientId);
+    private OperationResult applyWithdrawal(UUID clientId, Amount amount, String idempotencyKey) {
+        if(!bankClientRepository.existsById(clientId)) return new OperationResult.UnknownClient(clientId);
 
+        final Lock lock = clientLocks.lockFor(clientId);
+        lock.lock();
         try {
+            if(idempotencyKey != null) {
+                final Optional<BankOperation> original = idempotencyStore.find(clientId, idempotencyKey);
+                if(original.isPresent()) return new OperationResult.Applied(original.get());
+            }
+
+            final Amount currentBalance = getCurrentBalance(clientId);
+            if(currentBalance.compareTo(amount) < 0) return new OperationResult.InsufficientFunds(clientId, currentBalance, amount);
+
             final Amount newBalance = currentBalance.subtract(amount);
             final BankOperation operation = new BankOperation(
                     null,
@@ -63,22 +292,52 @@ public class BankService implements IBankService {
                     amount,
                     newBalance,
                     LocalDateTime.now(clock),
-                    "withdrawal");
+                    WITHDRAWAL_LABEL);
 
-            return bankOperationRepository.save(operation);
+            return new OperationResult.Applied(save(clientId, idempotencyKey, operation));
         } catch (NegativeAmountException e) {
-            throw new NegativeBalanceException();
+            throw new AssertionError(e);
+        } finally {
+            lock.unlock();
         }
     }
 
-    @Override
-    public void printAccountStatement(UUID clientId) throws ClientNotFoundException {
-        assertThatClientExists(clientId);
+    private static BankOperation deposited(OperationResult result) throws ClientNotFoundException {
+        return switch (result) {
+            case OperationResult.Applied(BankOperation operation) -> operation;
+            case OperationResult.UnknownClient unknownClient -> throw new ClientNotFoundException();
+            case OperationResult.InsufficientFunds insufficientFunds -> throw new IllegalStateException("deposit cannot lack funds");
+            case OperationResult.BalanceOverflow balanceOverflow -> throw new ArithmeticException("deposit overflows the balance");
+        };
+    }
 
-        final List<BankOperation> operations = bankOperationRepository.findByAccountId(clientId);
-        final Statement statement = new Statement(clientId, operations, LocalDateTime.now(clock));
+    private static BankOperation withdrawn(OperationResult result) throws ClientNotFoundException, NegativeBalanceException {
+        return switch (result) {
+            case OperationResult.Applied(BankOperation operation) -> operation;
+            case OperationResult.UnknownClient unknownClient -> throw new ClientNotFoundException();
+            case OperationResult.InsufficientFunds insufficientFunds -> throw new NegativeBalanceException();
+            case OperationResult.BalanceOverflow balanceOverflow -> throw new IllegalStateException("withdrawal cannot overflow");
+        };
+    }
 
-        statementWriter.write(statement);
+    private BankOperation save(UUID clientId, String idempotencyKey, BankOperation operation) {
+        if(idempotencyKey == null) return bankOperationRepository.save(operation);
+
+        idempotencyStore.prepare(clientId, idempotencyKey, operation);
+        final BankOperation saved = bankOperationRepository.save(operation);
+        idempotencyStore.remember(clientId, idempotencyKey, saved);
+        return saved;
+    }
+
+    private static <T> T resultOf(Future<T> future) {
+        return switch (future.state()) {
+            case SUCCESS -> future.resultNow();
+            case FAILED -> {
+                if(future.exceptionNow() instanceof RuntimeException e) throw e;
+                throw new IllegalStateException(future.exceptionNow());
+            }
+            default -> throw new CancellationException("balance lookup was interrupted");
+        };
     }
 
     private void assertThatClientExists(UUID clientId) throws ClientNotFoundException {
@@ -93,4 +352,10 @@ public class BankService implements IBankService {
                 .map(BankOperation::balance)
                 .orElse(Amount.ZERO);
     }
+
+    private static void unlockInReverse(List<Lock> locks) {
+        for(int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
 }
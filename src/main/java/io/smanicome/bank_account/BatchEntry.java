@@ -0,0 +1,13 @@
+package io.smanicome.bank_account;
+
+import java.util.UUID;
+
+public record BatchEntry(UUID clientId, BankOperation.OperationType operationType, Amount amount, String label) {
+    public static BatchEntry deposit(UUID clientId, Amount amount, String label) {
+        return new BatchEntry(clientId, BankOperation.OperationType.DEPOSIT, amount, label);
+    }
+
+    public static BatchEntry withdrawal(UUID clientId, Amount amount) {
+        return new BatchEntry(clientId, BankOperation.OperationType.WITHDRAWAL, amount, BankService.WITHDRAWAL_LABEL);
+    }
+}
@@ -0,0 +1,15 @@
+package io.smanicome.bank_account;
+
+public record BatchOutcome(BatchEntry entry, Status status, BankOperation operation) {
+    public enum Status {
+        APPLIED, CLIENT_NOT_FOUND, NEGATIVE_BALANCE, BALANCE_OVERFLOW
+    }
+
+    public static BatchOutcome applied(BatchEntry entry, BankOperation operation) {
+        return new BatchOutcome(entry, Status.APPLIED, operation);
+    }
+
+    public static BatchOutcome rejected(BatchEntry entry, Status status) {
+        return new BatchOutcome(entry, status, null);
+    }
+}
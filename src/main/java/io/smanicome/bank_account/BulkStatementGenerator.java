@@ -0,0 +1,123 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.persistence.BankClientRepository;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.visual.StreamingStatementFormatter;
+import io.smanicome.bank_account.visual.StreamingStatementWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+public class BulkStatementGenerator {
+    private static final String STATEMENT_SUFFIX = ".txt";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int SHARD_PREFIX_LENGTH = 2;
+
+    private final Clock clock;
+    private final BankClientRepository bankClientRepository;
+    private final BankOperationRepository bankOperationRepository;
+    private final StreamingStatementFormatter statementFormatter;
+    private final Path outputDirectory;
+    private final int parallelism;
+
+    public BulkStatementGenerator(Clock clock, BankClientRepository bankClientRepository, BankOperationRepository bankOperationRepository, StreamingStatementFormatter statementFormatter, Path outputDirectory, int parallelism) {
+        if(parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive");
+
+        this.clock = clock;
+        this.bankClientRepository = bankClientRepository;
+        this.bankOperationRepository = bankOperationRepository;
+        this.statementFormatter = statementFormatter;
+        this.outputDirectory = outputDirectory;
+        this.parallelism = parallelism;
+    }
+
+    public BulkStatementReport generateAll(BulkStatementListener listener) throws InterruptedException {
+        final LocalDateTime statementDate = LocalDateTime.now(clock);
+        final Semaphore inFlightStatements = new Semaphore(parallelism);
+        final AtomicLong written = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            Stream<UUID> clientIds = bankClientRepository.findAllIds()) {
+            final Iterator<UUID> iterator = clientIds.iterator();
+            while(iterator.hasNext()) {
+                final UUID clientId = iterator.next();
+                inFlightStatements.acquire();
+                executor.execute(() -> {
+                    try {
+                        final Path file = statementFile(clientId);
+                        if(Files.exists(file)) {
+                            skipped.incrementAndGet();
+                            listener.onStatementSkipped(clientId, file);
+                        } else {
+                            write(new Statement(clientId, bankOperationRepository.findByAccountId(clientId), statementDate), file);
+                            written.incrementAndGet();
+                            listener.onStatementWritten(clientId, file);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        listener.onStatementFailed(clientId, e);
+                    } finally {
+                        inFlightStatements.release();
+                    }
+                });
+            }
+        }
+
+        return new BulkStatementReport(written.get(), skipped.get(), failed.get());
+    }
+
+    public Path statementFile(UUID clientId) {
+        final String name = clientId.toString();
+        return outputDirectory.resolve(name.substring(0, SHARD_PREFIX_LENGTH)).resolve(name + STATEMENT_SUFFIX);
+    }
+
+    private void write(Statement statement, Path file) throws IOException {
+        if(Files.notExists(file.getParent())) {
+            Files.createDirectories(file.getParent());
+            force(outputDirectory);
+        }
+        final Path temporaryFile = file.resolveSibling(file.getFileName() + TEMPORARY_SUFFIX);
+
+        try {
+            try(FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                final Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+                new StreamingStatementWriter(statementFormatter, out).write(statement);
+                out.flush();
+                channel.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+        force(file.getParent());
+    }
+
+    private static void force(Path directory) throws IOException {
+        try(FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+}
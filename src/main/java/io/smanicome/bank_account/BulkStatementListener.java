@@ -0,0 +1,18 @@
+package io.smanicome.bank_account;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+public interface BulkStatementListener {
+    BulkStatementListener NONE = new BulkStatementListener() {
+    };
+
+    default void onStatementWritten(UUID clientId, Path file) {
+    }
+
+    default void onStatementSkipped(UUID clientId, Path file) {
+    }
+
+    default void onStatementFailed(UUID clientId, Exception cause) {
+    }
+}
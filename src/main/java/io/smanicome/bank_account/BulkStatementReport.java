@@ -0,0 +1,7 @@
+package io.smanicome.bank_account;
+
+public record BulkStatementReport(long written, long skipped, long failed) {
+    public boolean isComplete() {
+        return failed == 0;
+    }
+}
@@ -0,0 +1,11 @@
+package io.smanicome.bank_account;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface IAsyncBankService {
+    CompletableFuture<BankOperation> deposit(UUID clientId, Amount amount, String label);
+    CompletableFuture<BankOperation> withdraw(UUID clientId, Amount amount);
+
+    CompletableFuture<Void> printAccountStatement(UUID clientId);
+}
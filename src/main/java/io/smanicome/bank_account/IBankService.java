@@ -3,11 +3,27 @@ package io.smanicome.bank_account;
 import io.smanicome.bank_account.exceptions.ClientNotFoundException;
 import io.smanicome.bank_account.exceptions.NegativeBalanceException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface IBankService {
     BankOperation deposit(UUID clientId, Amount amount, String label) throws ClientNotFoundException;
+    BankOperation deposit(UUID clientId, Amount amount, String label, String idempotencyKey) throws ClientNotFoundException;
     BankOperation withdraw(UUID clientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException;
+    BankOperation withdraw(UUID clientId, Amount amount, String idempotencyKey) throws ClientNotFoundException, NegativeBalanceException;
+    OperationResult tryDeposit(UUID clientId, Amount amount, String label);
+    OperationResult tryDeposit(UUID clientId, Amount amount, String label, String idempotencyKey);
+    OperationResult tryWithdraw(UUID clientId, Amount amount);
+    OperationResult tryWithdraw(UUID clientId, Amount amount, String idempotencyKey);
+    Transfer transfer(UUID fromClientId, UUID toClientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException;
+    List<BatchOutcome> applyBatch(List<BatchEntry> entries);
+
+    Amount balanceAt(UUID clientId, LocalDateTime date) throws ClientNotFoundException;
+    Map<UUID, Amount> balancesAt(Collection<UUID> clientIds, LocalDateTime date);
 
     void printAccountStatement(UUID clientId) throws ClientNotFoundException;
+    void printAccountStatement(UUID clientId, LocalDateTime from, LocalDateTime to) throws ClientNotFoundException;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package io.smanicome.bank_account;
+
+import java.util.UUID;
+
+public sealed interface OperationResult {
+    record Applied(BankOperation operation) implements OperationResult {
+    }
+
+    record InsufficientFunds(UUID clientId, Amount balance, Amount requested) implements OperationResult {
+    }
+
+    record UnknownClient(UUID clientId) implements OperationResult {
+    }
+
+    record BalanceOverflow(UUID clientId, Amount balance, Amount requested) implements OperationResult {
+    }
+}
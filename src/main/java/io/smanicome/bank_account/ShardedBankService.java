@@ -0,0 +1,222 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.concurrency.RingBuffer;
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+import io.smanicome.bank_account.persistence.BankClientRepository;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.visual.StatementWriter;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.LockSupport;
+
+public class ShardedBankService implements IAsyncBankService, AutoCloseable {
+    private static final int SPINS_BEFORE_PARKING = 256;
+    private static final long PARK_NANOS = 100_000;
+
+    private final Clock clock;
+    private final BankClientRepository bankClientRepository;
+    private final BankOperationRepository bankOperationRepository;
+    private final StatementWriter statementWriter;
+    private final Shard[] shards;
+    private volatile boolean running = true;
+
+    public ShardedBankService(Clock clock, BankClientRepository bankClientRepository, BankOperationRepository bankOperationRepository, StatementWriter statementWriter, int shardCount, int ringBufferCapacity) {
+        if(shardCount <= 0) throw new IllegalArgumentException("shard count must be positive");
+
+        this.clock = clock;
+        this.bankClientRepository = bankClientRepository;
+        this.bankOperationRepository = bankOperationRepository;
+        this.statementWriter = statementWriter;
+        this.shards = new Shard[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, ringBufferCapacity);
+        }
+        for(Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    @Override
+    public CompletableFuture<BankOperation> deposit(UUID clientId, Amount amount, String label) {
+        final var command = new Deposit(clientId, amount, label, new CompletableFuture<>());
+        submit(command);
+        return command.result();
+    }
+
+    @Override
+    public CompletableFuture<BankOperation> withdraw(UUID clientId, Amount amount) {
+        final var command = new Withdrawal(clientId, amount, new CompletableFuture<>());
+        submit(command);
+        return command.result();
+    }
+
+    @Override
+    public CompletableFuture<Void> printAccountStatement(UUID clientId) {
+        final var command = new StatementSnapshot(clientId, new CompletableFuture<>());
+        submit(command);
+        return command.result().thenAcceptAsync(statementWriter::write);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for(Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        for(Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            shard.rejectPending();
+        }
+    }
+
+    private void submit(Command command) {
+        final Shard shard = shards[shardOf(command.clientId())];
+        while(running) {
+            if(shard.ringBuffer.offer(command)) {
+                shard.wakeUp();
+                if(!running && !shard.thread.isAlive()) shard.rejectPending();
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        reject(command);
+    }
+
+    private int shardOf(UUID clientId) {
+        final int hash = clientId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    private static void reject(Command command) {
+        command.result().completeExceptionally(new RejectedExecutionException("sharded bank service is closed"));
+    }
+
+    private final class Shard {
+        private final RingBuffer<Command> ringBuffer;
+        private final Thread thread;
+        private final Map<UUID, Amount> balances = new HashMap<>();
+        private volatile boolean parked;
+
+        private Shard(int index, int ringBufferCapacity) {
+            this.ringBuffer = new RingBuffer<>(ringBufferCapacity);
+            this.thread = Thread.ofPlatform()
+                    .name("bank-shard-" + index)
+                    .daemon()
+                    .unstarted(this::run);
+        }
+
+        private void run() {
+            int idleSpins = 0;
+            while(true) {
+                final Command command = ringBuffer.poll();
+                if(command != null) {
+                    execute(command);
+                    idleSpins = 0;
+                } else if(!running) {
+                    return;
+                } else if(idleSpins < SPINS_BEFORE_PARKING) {
+                    idleSpins++;
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    if(ringBuffer.isEmpty() && running) {
+                        LockSupport.parkNanos(this, PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            }
+        }
+
+        private void wakeUp() {
+            if(parked) LockSupport.unpark(thread);
+        }
+
+        private synchronized void rejectPending() {
+            Command command;
+            while((command = ringBuffer.poll()) != null) {
+                reject(command);
+            }
+        }
+
+        private void execute(Command command) {
+            try {
+                switch (command) {
+                    case Deposit deposit -> deposit.result().complete(deposit(deposit));
+                    case Withdrawal withdrawal -> withdrawal.result().complete(withdraw(withdrawal));
+                    case StatementSnapshot snapshot -> snapshot.result().complete(snapshot(snapshot));
+                }
+            } catch (Exception e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+
+        private BankOperation deposit(Deposit deposit) throws ClientNotFoundException, NegativeAmountException {
+            final Amount newBalance = balanceOf(deposit.clientId()).add(deposit.amount());
+            return save(deposit.clientId(), BankOperation.OperationType.DEPOSIT, deposit.amount(), newBalance, deposit.label());
+        }
+
+        private BankOperation withdraw(Withdrawal withdrawal) throws ClientNotFoundException, NegativeBalanceException {
+            final Amount currentBalance = balanceOf(withdrawal.clientId());
+            if(currentBalance.compareTo(withdrawal.amount()) < 0) throw new NegativeBalanceException();
+
+            final Amount newBalance;
+            try {
+                newBalance = currentBalance.subtract(withdrawal.amount());
+            } catch (NegativeAmountException e) {
+                throw new AssertionError(e);
+            }
+            return save(withdrawal.clientId(), BankOperation.OperationType.WITHDRAWAL, withdrawal.amount(), newBalance, BankService.WITHDRAWAL_LABEL);
+        }
+
+        private Statement snapshot(StatementSnapshot snapshot) throws ClientNotFoundException {
+            balanceOf(snapshot.clientId());
+            return new Statement(snapshot.clientId(), bankOperationRepository.findByAccountId(snapshot.clientId()), LocalDateTime.now(clock));
+        }
+
+        private BankOperation save(UUID clientId, BankOperation.OperationType type, Amount amount, Amount newBalance, String label) {
+            final BankOperation saved = bankOperationRepository.save(new BankOperation(null, clientId, type, amount, newBalance, LocalDateTime.now(clock), label));
+            balances.put(clientId, newBalance);
+            return saved;
+        }
+
+        private Amount balanceOf(UUID clientId) throws ClientNotFoundException {
+            final Amount cached = balances.get(clientId);
+            if(cached != null) return cached;
+
+            if(!bankClientRepository.existsById(clientId)) throw new ClientNotFoundException();
+
+            final Amount balance = bankOperationRepository.findLatestOperationByClientId(clientId)
+                    .map(BankOperation::balance)
+                    .orElse(Amount.ZERO);
+            balances.put(clientId, balance);
+            return balance;
+        }
+    }
+
+    private sealed interface Command {
+        UUID clientId();
+        CompletableFuture<?> result();
+    }
+
+    private record Deposit(UUID clientId, Amount amount, String label, CompletableFuture<BankOperation> result) implements Command {
+    }
+
+    private record Withdrawal(UUID clientId, Amount amount, CompletableFuture<BankOperation> result) implements Command {
+    }
+
+    private record StatementSnapshot(UUID clientId, CompletableFuture<Statement> result) implements Command {
+    }
+}
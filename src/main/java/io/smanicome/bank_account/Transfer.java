@@ -0,0 +1,4 @@
+package io.smanicome.bank_account;
+
+public record Transfer(BankOperation debit, BankOperation credit) {
+}
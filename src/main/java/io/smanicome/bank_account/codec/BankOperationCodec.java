@@ -0,0 +1,72 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.BankOperation;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public final class BankOperationCodec {
+    static final int TYPE_MASK = 0x3F;
+    static final int HAS_ID = 0x40;
+    static final int HAS_LABEL = 0x80;
+
+    private BankOperationCodec() {
+    }
+
+    public static void encode(BankOperation operation, ByteBuffer buffer) {
+        buffer.put(CodecSupport.VERSION);
+        buffer.put(header(operation));
+        if(operation.id() != null) CodecSupport.putUuid(buffer, operation.id());
+        CodecSupport.putUuid(buffer, operation.clientId());
+        VarInts.putUnsigned(buffer, operation.amount().toMinorUnits());
+        VarInts.putUnsigned(buffer, operation.balance().toMinorUnits());
+        VarInts.putSigned(buffer, operation.date().toEpochSecond(ZoneOffset.UTC));
+        VarInts.putUnsigned(buffer, operation.date().getNano());
+        if(operation.label() != null) CodecSupport.putString(buffer, CodecSupport.utf8(operation.label()));
+    }
+
+    public static BankOperation decode(ByteBuffer buffer) {
+        CodecSupport.checkVersion(buffer);
+        final int header = buffer.get() & 0xFF;
+        final UUID id = (header & HAS_ID) != 0 ? CodecSupport.getUuid(buffer) : null;
+        final UUID clientId = CodecSupport.getUuid(buffer);
+        return new BankOperation(
+                id,
+                clientId,
+                typeOf(header),
+                CodecSupport.getAmount(buffer),
+                CodecSupport.getAmount(buffer),
+                date(VarInts.getSigned(buffer), buffer),
+                (header & HAS_LABEL) != 0 ? CodecSupport.getString(buffer) : null);
+    }
+
+    public static int encodedSize(BankOperation operation) {
+        return Byte.BYTES * 2
+                + (operation.id() != null ? CodecSupport.uuidSize() : 0)
+                + CodecSupport.uuidSize()
+                + VarInts.unsignedSize(operation.amount().toMinorUnits())
+                + VarInts.unsignedSize(operation.balance().toMinorUnits())
+                + VarInts.signedSize(operation.date().toEpochSecond(ZoneOffset.UTC))
+                + VarInts.unsignedSize(operation.date().getNano())
+                + (operation.label() != null ? CodecSupport.stringSize(CodecSupport.utf8(operation.label())) : 0);
+    }
+
+    static byte header(BankOperation operation) {
+        int header = operation.operationType().ordinal();
+        if(operation.id() != null) header |= HAS_ID;
+        if(operation.label() != null) header |= HAS_LABEL;
+        return (byte) header;
+    }
+
+    static BankOperation.OperationType typeOf(int header) {
+        return CodecSupport.type(header & TYPE_MASK);
+    }
+
+    static LocalDateTime date(long epochSecond, ByteBuffer buffer) {
+        final long nano = VarInts.getUnsigned(buffer);
+        if(nano >= 1_000_000_000L) throw new IllegalArgumentException("malformed date");
+        return LocalDateTime.ofEpochSecond(epochSecond, (int) nano, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,78 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+final class CodecSupport {
+    static final byte VERSION = 1;
+
+    private static final BankOperation.OperationType[] OPERATION_TYPES = BankOperation.OperationType.values();
+    private static final int UUID_BYTES = Long.BYTES * 2;
+
+    private CodecSupport() {
+    }
+
+    static void checkVersion(ByteBuffer buffer) {
+        final byte version = buffer.get();
+        if(version != VERSION) throw new IllegalArgumentException("unsupported codec version " + version);
+    }
+
+    static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static int uuidSize() {
+        return UUID_BYTES;
+    }
+
+    static BankOperation.OperationType type(int ordinal) {
+        if(ordinal >= OPERATION_TYPES.length) throw new IllegalArgumentException("unknown operation type " + ordinal);
+        return OPERATION_TYPES[ordinal];
+    }
+
+    static Amount getAmount(ByteBuffer buffer) {
+        try {
+            return Amount.ofMinorUnits(VarInts.getUnsigned(buffer));
+        } catch (NegativeAmountException e) {
+            throw new IllegalArgumentException("malformed amount", e);
+        }
+    }
+
+    static void putString(ByteBuffer buffer, byte[] utf8) {
+        VarInts.putUnsigned(buffer, utf8.length);
+        buffer.put(utf8);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        final int length = Math.toIntExact(VarInts.getUnsigned(buffer));
+        if(length > buffer.remaining()) throw new IllegalArgumentException("string overruns buffer");
+
+        final String value;
+        if(buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    static int stringSize(byte[] utf8) {
+        return VarInts.unsignedSize(utf8.length) + utf8.length;
+    }
+
+    static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
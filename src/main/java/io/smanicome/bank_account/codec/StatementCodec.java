@@ -0,0 +1,129 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public final class StatementCodec {
+    private StatementCodec() {
+    }
+
+    public static void encode(Statement statement, ByteBuffer buffer) {
+        final Map<String, Integer> labels = labelDictionary(statement);
+
+        buffer.put(CodecSupport.VERSION);
+        CodecSupport.putUuid(buffer, statement.accountId());
+        VarInts.putSigned(buffer, statement.date().toEpochSecond(ZoneOffset.UTC));
+        VarInts.putUnsigned(buffer, statement.date().getNano());
+
+        VarInts.putUnsigned(buffer, labels.size());
+        for(String label : labels.keySet()) {
+            CodecSupport.putString(buffer, CodecSupport.utf8(label));
+        }
+
+        final List<BankOperation> operations = statement.bankOperations();
+        VarInts.putUnsigned(buffer, operations.size());
+        long previousEpochSecond = 0;
+        for(BankOperation operation : operations) {
+            final long epochSecond = operation.date().toEpochSecond(ZoneOffset.UTC);
+
+            buffer.put(BankOperationCodec.header(operation));
+            if(operation.id() != null) CodecSupport.putUuid(buffer, operation.id());
+            VarInts.putUnsigned(buffer, operation.amount().toMinorUnits());
+            VarInts.putUnsigned(buffer, operation.balance().toMinorUnits());
+            VarInts.putSigned(buffer, epochSecond - previousEpochSecond);
+            VarInts.putUnsigned(buffer, operation.date().getNano());
+            if(operation.label() != null) VarInts.putUnsigned(buffer, labels.get(operation.label()));
+
+            previousEpochSecond = epochSecond;
+        }
+    }
+
+    public static Statement decode(ByteBuffer buffer) {
+        CodecSupport.checkVersion(buffer);
+        final UUID accountId = CodecSupport.getUuid(buffer);
+        final var statementDate = BankOperationCodec.date(VarInts.getSigned(buffer), buffer);
+
+        final String[] labels = new String[count(buffer)];
+        for(int i = 0; i < labels.length; i++) {
+            labels[i] = CodecSupport.getString(buffer);
+        }
+
+        final int operationCount = count(buffer);
+        final List<BankOperation> operations = new ArrayList<>(operationCount);
+        long previousEpochSecond = 0;
+        for(int i = 0; i < operationCount; i++) {
+            final int header = buffer.get() & 0xFF;
+            final UUID id = (header & BankOperationCodec.HAS_ID) != 0 ? CodecSupport.getUuid(buffer) : null;
+            final var amount = CodecSupport.getAmount(buffer);
+            final var balance = CodecSupport.getAmount(buffer);
+            final long epochSecond = previousEpochSecond + VarInts.getSigned(buffer);
+            final var date = BankOperationCodec.date(epochSecond, buffer);
+            final String label = (header & BankOperationCodec.HAS_LABEL) != 0 ? label(labels, VarInts.getUnsigned(buffer)) : null;
+
+            operations.add(new BankOperation(id, accountId, BankOperationCodec.typeOf(header), amount, balance, date, label));
+            previousEpochSecond = epochSecond;
+        }
+        return new Statement(accountId, List.copyOf(operations), statementDate);
+    }
+
+    public static int encodedSize(Statement statement) {
+        final Map<String, Integer> labels = labelDictionary(statement);
+
+        int size = Byte.BYTES
+                + CodecSupport.uuidSize()
+                + VarInts.signedSize(statement.date().toEpochSecond(ZoneOffset.UTC))
+                + VarInts.unsignedSize(statement.date().getNano())
+                + VarInts.unsignedSize(labels.size());
+        for(String label : labels.keySet()) {
+            size += CodecSupport.stringSize(CodecSupport.utf8(label));
+        }
+
+        final List<BankOperation> operations = statement.bankOperations();
+        size += VarInts.unsignedSize(operations.size());
+        long previousEpochSecond = 0;
+        for(BankOperation operation : operations) {
+            final long epochSecond = operation.date().toEpochSecond(ZoneOffset.UTC);
+            size += Byte.BYTES
+                    + (operation.id() != null ? CodecSupport.uuidSize() : 0)
+                    + VarInts.unsignedSize(operation.amount().toMinorUnits())
+                    + VarInts.unsignedSize(operation.balance().toMinorUnits())
+                    + VarInts.signedSize(epochSecond - previousEpochSecond)
+                    + VarInts.unsignedSize(operation.date().getNano())
+                    + (operation.label() != null ? VarInts.unsignedSize(labels.get(operation.label())) : 0);
+            previousEpochSecond = epochSecond;
+        }
+        return size;
+    }
+
+    private static Map<String, Integer> labelDictionary(Statement statement) {
+        final Map<String, Integer> labels = new LinkedHashMap<>();
+        for(BankOperation operation : statement.bankOperations()) {
+            if(!statement.accountId().equals(operation.clientId())) {
+                throw new IllegalArgumentException("operation " + operation.id() + " does not belong to account " + statement.accountId());
+            }
+            if(operation.label() != null) {
+                labels.putIfAbsent(operation.label(), labels.size());
+            }
+        }
+        return labels;
+    }
+
+    private static int count(ByteBuffer buffer) {
+        final long count = VarInts.getUnsigned(buffer);
+        if(count > buffer.remaining()) throw new IllegalArgumentException("count overruns buffer");
+        return (int) count;
+    }
+
+    private static String label(String[] labels, long index) {
+        if(index >= labels.length) throw new IllegalArgumentException("unknown label " + index);
+        return labels[(int) index];
+    }
+}
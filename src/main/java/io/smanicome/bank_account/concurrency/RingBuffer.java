@@ -0,0 +1,63 @@
+package io.smanicome.bank_account.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class RingBuffer<T> {
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong producerSequence = new AtomicLong();
+    private long consumerSequence;
+
+    public RingBuffer(int capacity) {
+        if(capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+
+        final int size = Math.max(2, Integer.highestOneBit((capacity - 1) << 1));
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(T item) {
+        while(true) {
+            final long sequence = producerSequence.get();
+            final int index = (int) sequence & mask;
+            final long difference = sequences.get(index) - sequence;
+
+            if(difference == 0) {
+                if(producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    slots[index] = item;
+                    sequences.set(index, sequence + 1);
+                    return true;
+                }
+            } else if(difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        final long sequence = consumerSequence;
+        final int index = (int) sequence & mask;
+        if(sequences.get(index) != sequence + 1) return null;
+
+        final T item = (T) slots[index];
+        slots[index] = null;
+        sequences.set(index, sequence + slots.length);
+        consumerSequence = sequence + 1;
+        return item;
+    }
+
+    public boolean isEmpty() {
+        return sequences.get((int) consumerSequence & mask) != consumerSequence + 1;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
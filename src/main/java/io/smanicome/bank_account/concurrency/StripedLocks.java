@@ -0,0 +1,55 @@
+package io.smanicome.bank_account.concurrency;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class StripedLocks {
+    private final Lock[] locks;
+    private final int mask;
+
+    public StripedLocks(int stripes) {
+        if(stripes <= 0) throw new IllegalArgumentException("stripes must be positive");
+
+        final int size = stripes == 1 ? 1 : Integer.highestOneBit((stripes - 1) << 1);
+        this.locks = new Lock[size];
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public static StripedLocks forAvailableProcessors() {
+        return new StripedLocks(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    public Lock lockFor(UUID clientId) {
+        return locks[stripeOf(clientId)];
+    }
+
+    public List<Lock> locksFor(Collection<UUID> clientIds) {
+        final BitSet stripes = new BitSet(locks.length);
+        for(UUID clientId : clientIds) {
+            stripes.set(stripeOf(clientId));
+        }
+
+        final List<Lock> orderedLocks = new ArrayList<>(stripes.cardinality());
+        for(int stripe = stripes.nextSetBit(0); stripe >= 0; stripe = stripes.nextSetBit(stripe + 1)) {
+            orderedLocks.add(locks[stripe]);
+        }
+        return orderedLocks;
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+
+    int stripeOf(UUID clientId) {
+        final int hash = clientId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,7 @@
+package io.smanicome.bank_account.exceptions;
+
+public class AmountOutOfRangeException extends ArithmeticException {
+    public AmountOutOfRangeException() {
+        super("amount does not fit in minor units");
+    }
+}
@@ -1,4 +1,7 @@
 package io.smanicome.bank_account.exceptions;
 
 public class NegativeAmountException extends Exception {
+    public NegativeAmountException() {
+        super(null, null, false, false);
+    }
 }
@@ -0,0 +1,99 @@
+package io.smanicome.bank_account.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+public class BankMetrics implements BankMetricsMXBean {
+    private static final TimedOperation[] TIMED_OPERATIONS = TimedOperation.values();
+    private static final CountedOutcome[] COUNTED_OUTCOMES = CountedOutcome.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[TIMED_OPERATIONS.length];
+    private final LongAdder[] outcomes = new LongAdder[COUNTED_OUTCOMES.length];
+
+    public BankMetrics() {
+        for(int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        for(int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    public void recordLatency(TimedOperation operation, long startNanos) {
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void countOutcome(CountedOutcome outcome) {
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    public MetricsSnapshot snapshot() {
+        final Map<TimedOperation, HistogramSnapshot> latencySnapshots = new EnumMap<>(TimedOperation.class);
+        for(TimedOperation operation : TIMED_OPERATIONS) {
+            latencySnapshots.put(operation, latencies[operation.ordinal()].snapshot());
+        }
+
+        final Map<CountedOutcome, Long> outcomeCounts = new EnumMap<>(CountedOutcome.class);
+        for(CountedOutcome outcome : COUNTED_OUTCOMES) {
+            outcomeCounts.put(outcome, outcomes[outcome.ordinal()].sum());
+        }
+        return new MetricsSnapshot(latencySnapshots, outcomeCounts);
+    }
+
+    public ObjectName registerMBean(String name) {
+        return registerMBean(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    public ObjectName registerMBean(MBeanServer server, String name) {
+        try {
+            final ObjectName objectName = new ObjectName("io.smanicome.bank_account:type=BankMetrics,name=" + name);
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e) {
+            throw new IllegalStateException("cannot register bank metrics MBean", e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getOutcomeCounts() {
+        final Map<String, Long> counts = new TreeMap<>();
+        snapshot().outcomes().forEach((outcome, count) -> counts.put(outcome.metricName(), count));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getLatencyCounts() {
+        return latencyAttribute(HistogramSnapshot::count);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP50Nanos() {
+        return latencyAttribute(HistogramSnapshot::p50Nanos);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyP99Nanos() {
+        return latencyAttribute(HistogramSnapshot::p99Nanos);
+    }
+
+    @Override
+    public Map<String, Long> getLatencyMaxNanos() {
+        return latencyAttribute(HistogramSnapshot::maxNanos);
+    }
+
+    private Map<String, Long> latencyAttribute(ToLongFunction<HistogramSnapshot> attribute) {
+        final Map<String, Long> values = new TreeMap<>();
+        snapshot().latencies().forEach((operation, histogram) -> values.put(operation.metricName(), attribute.applyAsLong(histogram)));
+        return values;
+    }
+}
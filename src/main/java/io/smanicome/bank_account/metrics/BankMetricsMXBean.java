@@ -0,0 +1,11 @@
+package io.smanicome.bank_account.metrics;
+
+import java.util.Map;
+
+public interface BankMetricsMXBean {
+    Map<String, Long> getOutcomeCounts();
+    Map<String, Long> getLatencyCounts();
+    Map<String, Long> getLatencyP50Nanos();
+    Map<String, Long> getLatencyP99Nanos();
+    Map<String, Long> getLatencyMaxNanos();
+}
@@ -0,0 +1,17 @@
+package io.smanicome.bank_account.metrics;
+
+public enum CountedOutcome {
+    CLIENT_NOT_FOUND("outcome.clientNotFound"),
+    NEGATIVE_BALANCE("outcome.negativeBalance"),
+    BALANCE_OVERFLOW("outcome.balanceOverflow");
+
+    private final String metricName;
+
+    CountedOutcome(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
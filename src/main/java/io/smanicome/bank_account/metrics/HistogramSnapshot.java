@@ -0,0 +1,5 @@
+package io.smanicome.bank_account.metrics;
+
+public record HistogramSnapshot(long count, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    public static final HistogramSnapshot EMPTY = new HistogramSnapshot(0, 0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,36 @@
+package io.smanicome.bank_account.metrics;
+
+import io.smanicome.bank_account.persistence.BankClientRepository;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class InstrumentedBankClientRepository implements BankClientRepository {
+    private final BankClientRepository delegate;
+    private final BankMetrics metrics;
+
+    public InstrumentedBankClientRepository(BankClientRepository delegate, BankMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean existsById(UUID clientId) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.existsById(clientId);
+        } finally {
+            metrics.recordLatency(TimedOperation.CLIENT_EXISTS, start);
+        }
+    }
+
+    @Override
+    public Stream<UUID> findAllIds() {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findAllIds();
+        } finally {
+            metrics.recordLatency(TimedOperation.CLIENT_FIND_ALL, start);
+        }
+    }
+}
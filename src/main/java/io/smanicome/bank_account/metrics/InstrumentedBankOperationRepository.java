@@ -0,0 +1,102 @@
+package io.smanicome.bank_account.metrics;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.OperationCursor;
+import io.smanicome.bank_account.persistence.OperationPage;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public class InstrumentedBankOperationRepository implements BankOperationRepository {
+    private final BankOperationRepository delegate;
+    private final BankMetrics metrics;
+
+    public InstrumentedBankOperationRepository(BankOperationRepository delegate, BankMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.save(operation);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_SAVE, start);
+        }
+    }
+
+    @Override
+    public List<BankOperation> saveAll(List<BankOperation> operations) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.saveAll(operations);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_SAVE_ALL, start);
+        }
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findLatestOperationByClientId(clientId);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_LATEST, start);
+        }
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findByAccountId(clientId);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_HISTORY, start);
+        }
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findByAccountIdBetween(clientId, from, to);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_BETWEEN, start);
+        }
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findLatestOperations(clientId, limit);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_PAGE, start);
+        }
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findOperationsBefore(clientId, cursor, limit);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_PAGE, start);
+        }
+    }
+
+    @Override
+    public Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.findBalanceAt(clientId, date);
+        } finally {
+            metrics.recordLatency(TimedOperation.OPERATION_FIND_BALANCE_AT, start);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package io.smanicome.bank_account.metrics;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.BatchEntry;
+import io.smanicome.bank_account.BatchOutcome;
+import io.smanicome.bank_account.IBankService;
+import io.smanicome.bank_account.OperationResult;
+import io.smanicome.bank_account.Transfer;
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class InstrumentedBankService implements IBankService {
+    private final IBankService delegate;
+    private final BankMetrics metrics;
+
+    public InstrumentedBankService(IBankService delegate, BankMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public BankOperation deposit(UUID clientId, Amount amount, String label) throws ClientNotFoundException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.deposit(clientId, amount, label);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.DEPOSIT, start);
+        }
+    }
+
+    @Override
+    public BankOperation deposit(UUID clientId, Amount amount, String label, String idempotencyKey) throws ClientNotFoundException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.deposit(clientId, amount, label, idempotencyKey);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.DEPOSIT, start);
+        }
+    }
+
+    @Override
+    public BankOperation withdraw(UUID clientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.withdraw(clientId, amount);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } catch (NegativeBalanceException e) {
+            metrics.countOutcome(CountedOutcome.NEGATIVE_BALANCE);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.WITHDRAW, start);
+        }
+    }
+
+    @Override
+    public BankOperation withdraw(UUID clientId, Amount amount, String idempotencyKey) throws ClientNotFoundException, NegativeBalanceException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.withdraw(clientId, amount, idempotencyKey);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } catch (NegativeBalanceException e) {
+            metrics.countOutcome(CountedOutcome.NEGATIVE_BALANCE);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.WITHDRAW, start);
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(UUID clientId, Amount amount, String label) {
+        final long start = System.nanoTime();
+        try {
+            return counted(delegate.tryDeposit(clientId, amount, label));
+        } finally {
+            metrics.recordLatency(TimedOperation.DEPOSIT, start);
+        }
+    }
+
+    @Override
+    public OperationResult tryDeposit(UUID clientId, Amount amount, String label, String idempotencyKey) {
+        final long start = System.nanoTime();
+        try {
+            return counted(delegate.tryDeposit(clientId, amount, label, idempotencyKey));
+        } finally {
+            metrics.recordLatency(TimedOperation.DEPOSIT, start);
+        }
+    }
+
+    @Override
+    public OperationResult tryWithdraw(UUID clientId, Amount amount) {
+        final long start = System.nanoTime();
+        try {
+            return counted(delegate.tryWithdraw(clientId, amount));
+        } finally {
+            metrics.recordLatency(TimedOperation.WITHDRAW, start);
+        }
+    }
+
+    @Override
+    public OperationResult tryWithdraw(UUID clientId, Amount amount, String idempotencyKey) {
+        final long start = System.nanoTime();
+        try {
+            return counted(delegate.tryWithdraw(clientId, amount, idempotencyKey));
+        } finally {
+            metrics.recordLatency(TimedOperation.WITHDRAW, start);
+        }
+    }
+
+    @Override
+    public Transfer transfer(UUID fromClientId, UUID toClientId, Amount amount) throws ClientNotFoundException, NegativeBalanceException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.transfer(fromClientId, toClientId, amount);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } catch (NegativeBalanceException e) {
+            metrics.countOutcome(CountedOutcome.NEGATIVE_BALANCE);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.TRANSFER, start);
+        }
+    }
+
+    @Override
+    public List<BatchOutcome> applyBatch(List<BatchEntry> entries) {
+        final long start = System.nanoTime();
+        try {
+            final List<BatchOutcome> outcomes = delegate.applyBatch(entries);
+            for(BatchOutcome outcome : outcomes) {
+                switch (outcome.status()) {
+                    case CLIENT_NOT_FOUND -> metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+                    case NEGATIVE_BALANCE -> metrics.countOutcome(CountedOutcome.NEGATIVE_BALANCE);
+                    case BALANCE_OVERFLOW -> metrics.countOutcome(CountedOutcome.BALANCE_OVERFLOW);
+                    case APPLIED -> {
+                    }
+                }
+            }
+            return outcomes;
+        } finally {
+            metrics.recordLatency(TimedOperation.APPLY_BATCH, start);
+        }
+    }
+
+    @Override
+    public Amount balanceAt(UUID clientId, LocalDateTime date) throws ClientNotFoundException {
+        final long start = System.nanoTime();
+        try {
+            return delegate.balanceAt(clientId, date);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.BALANCE_AT, start);
+        }
+    }
+
+    @Override
+    public Map<UUID, Amount> balancesAt(Collection<UUID> clientIds, LocalDateTime date) {
+        final long start = System.nanoTime();
+        try {
+            return delegate.balancesAt(clientIds, date);
+        } finally {
+            metrics.recordLatency(TimedOperation.BALANCES_AT, start);
+        }
+    }
+
+    @Override
+    public void printAccountStatement(UUID clientId) throws ClientNotFoundException {
+        final long start = System.nanoTime();
+        try {
+            delegate.printAccountStatement(clientId);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.PRINT_STATEMENT, start);
+        }
+    }
+
+    @Override
+    public void printAccountStatement(UUID clientId, LocalDateTime from, LocalDateTime to) throws ClientNotFoundException {
+        final long start = System.nanoTime();
+        try {
+            delegate.printAccountStatement(clientId, from, to);
+        } catch (ClientNotFoundException e) {
+            metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            throw e;
+        } finally {
+            metrics.recordLatency(TimedOperation.PRINT_STATEMENT, start);
+        }
+    }
+
+    private OperationResult counted(OperationResult result) {
+        switch (result) {
+            case OperationResult.UnknownClient unknownClient -> metrics.countOutcome(CountedOutcome.CLIENT_NOT_FOUND);
+            case OperationResult.InsufficientFunds insufficientFunds -> metrics.countOutcome(CountedOutcome.NEGATIVE_BALANCE);
+            case OperationResult.BalanceOverflow balanceOverflow -> metrics.countOutcome(CountedOutcome.BALANCE_OVERFLOW);
+            case OperationResult.Applied applied -> {
+            }
+        }
+        return result;
+    }
+}
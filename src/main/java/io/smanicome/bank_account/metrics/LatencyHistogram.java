@@ -0,0 +1,72 @@
+package io.smanicome.bank_account.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + LINEAR_LIMIT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        final long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        totalNanos.add(value);
+
+        long currentMax = maxNanos.get();
+        while(value > currentMax && !maxNanos.compareAndSet(currentMax, value)) {
+            currentMax = maxNanos.get();
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+        if(count == 0) return HistogramSnapshot.EMPTY;
+
+        return new HistogramSnapshot(
+                count,
+                (double) totalNanos.sum() / count,
+                valueAtPercentile(counts, count, 50),
+                valueAtPercentile(counts, count, 90),
+                valueAtPercentile(counts, count, 99),
+                valueAtPercentile(counts, count, 99.9),
+                maxNanos.get()
+        );
+    }
+
+    static int bucketOf(long value) {
+        if(value < LINEAR_LIMIT) return (int) value;
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    static long highestValueOf(int bucket) {
+        if(bucket < LINEAR_LIMIT) return bucket;
+
+        final int shift = bucket / SUB_BUCKET_COUNT - 1;
+        final long subBucket = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static long valueAtPercentile(long[] counts, long count, double percentile) {
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank) return highestValueOf(i);
+        }
+        return highestValueOf(counts.length - 1);
+    }
+}
@@ -0,0 +1,6 @@
+package io.smanicome.bank_account.metrics;
+
+import java.util.Map;
+
+public record MetricsSnapshot(Map<TimedOperation, HistogramSnapshot> latencies, Map<CountedOutcome, Long> outcomes) {
+}
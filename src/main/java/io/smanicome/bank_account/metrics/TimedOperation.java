@@ -0,0 +1,30 @@
+package io.smanicome.bank_account.metrics;
+
+public enum TimedOperation {
+    DEPOSIT("service.deposit"),
+    WITHDRAW("service.withdraw"),
+    TRANSFER("service.transfer"),
+    APPLY_BATCH("service.applyBatch"),
+    PRINT_STATEMENT("service.printAccountStatement"),
+    BALANCE_AT("service.balanceAt"),
+    BALANCES_AT("service.balancesAt"),
+    CLIENT_EXISTS("clientRepository.existsById"),
+    CLIENT_FIND_ALL("clientRepository.findAllIds"),
+    OPERATION_SAVE("operationRepository.save"),
+    OPERATION_SAVE_ALL("operationRepository.saveAll"),
+    OPERATION_FIND_LATEST("operationRepository.findLatestOperationByClientId"),
+    OPERATION_FIND_HISTORY("operationRepository.findByAccountId"),
+    OPERATION_FIND_BETWEEN("operationRepository.findByAccountIdBetween"),
+    OPERATION_FIND_PAGE("operationRepository.findLatestOperations"),
+    OPERATION_FIND_BALANCE_AT("operationRepository.findBalanceAt");
+
+    private final String metricName;
+
+    TimedOperation(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String metricName() {
+        return metricName;
+    }
+}
@@ -1,7 +1,12 @@
 package io.smanicome.bank_account.persistence;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BankClientRepository {
     boolean existsById(UUID clientId);
+
+    default Stream<UUID> findAllIds() {
+        throw new UnsupportedOperationException("this client repository cannot list its clients");
+    }
 }
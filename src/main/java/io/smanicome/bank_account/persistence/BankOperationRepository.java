@@ -1,14 +1,43 @@
 package io.smanicome.bank_account.persistence;
 
+import io.smanicome.bank_account.Amount;
 import io.smanicome.bank_account.BankOperation;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface BankOperationRepository {
     BankOperation save(BankOperation operation);
+    default List<BankOperation> saveAll(List<BankOperation> operations) {
+        final List<BankOperation> saved = new ArrayList<>(operations.size());
+        for(BankOperation operation : operations) {
+            saved.add(save(operation));
+        }
+        return saved;
+    }
+
     Optional<BankOperation> findLatestOperationByClientId(UUID clientId);
 
     List<BankOperation> findByAccountId(UUID clientId);
+
+    default List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        return DateOrderedOperations.between(findByAccountId(clientId), from, to);
+    }
+
+    default OperationPage findLatestOperations(UUID clientId, int limit) {
+        final List<BankOperation> operations = findByAccountId(clientId);
+        return DateOrderedOperations.pageEndingAt(operations, operations.size(), limit);
+    }
+
+    default OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        final List<BankOperation> operations = findByAccountId(clientId);
+        return DateOrderedOperations.pageEndingAt(operations, DateOrderedOperations.indexOf(operations, cursor), limit);
+    }
+
+    default Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        return DateOrderedOperations.balanceAt(findByAccountId(clientId), date);
+    }
 }
@@ -0,0 +1,64 @@
+package io.smanicome.bank_account.persistence;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        final long insertions = Math.max(1, expectedInsertions);
+        final long bits = Math.max(64, (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        this.words = new AtomicLongArray(Math.toIntExact((bits + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / insertions * Math.log(2)));
+    }
+
+    void put(UUID id) {
+        put(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    void put(long key) {
+        put(key, Long.rotateLeft(key, 32));
+    }
+
+    boolean mightContain(UUID id) {
+        return mightContain(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    boolean mightContain(long key) {
+        return mightContain(key, Long.rotateLeft(key, 32));
+    }
+
+    private void put(long mostSignificantBits, long leastSignificantBits) {
+        final long hash1 = mix(mostSignificantBits ^ leastSignificantBits * 0x9E3779B97F4A7C15L);
+        final long hash2 = mix(hash1 ^ leastSignificantBits) | 1;
+        for(int i = 0; i < hashCount; i++) {
+            final long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            long current = words.get(word);
+            while((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    private boolean mightContain(long mostSignificantBits, long leastSignificantBits) {
+        final long hash1 = mix(mostSignificantBits ^ leastSignificantBits * 0x9E3779B97F4A7C15L);
+        final long hash2 = mix(hash1 ^ leastSignificantBits) | 1;
+        for(int i = 0; i < hashCount; i++) {
+            final long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            if((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,4 @@
+package io.smanicome.bank_account.persistence;
+
+public record CacheStats(long hits, long misses, long negativeHits) {
+}
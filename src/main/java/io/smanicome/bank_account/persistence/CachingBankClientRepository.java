@@ -0,0 +1,138 @@
+package io.smanicome.bank_account.persistence;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+public class CachingBankClientRepository implements BankClientRepository {
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final BankClientRepository delegate;
+    private final long expectedClients;
+    private final KnownClientSegment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final Object filterLock = new Object();
+    private volatile BloomFilter existingClients;
+    private BloomFilter rebuildingClients;
+
+    public CachingBankClientRepository(BankClientRepository delegate, int maximumSize, long expectedClients) {
+        this.delegate = delegate;
+        this.expectedClients = expectedClients;
+
+        final int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(64, maximumSize / 64)));
+        this.segments = new KnownClientSegment[segmentCount];
+        for(int i = 0; i < segmentCount; i++) {
+            segments[i] = new KnownClientSegment(Math.max(1, maximumSize / segmentCount));
+        }
+        this.existingClients = new BloomFilter(expectedClients, BLOOM_FALSE_POSITIVE_RATE);
+        loadExistingClients(existingClients);
+    }
+
+    @Override
+    public boolean existsById(UUID clientId) {
+        final KnownClientSegment segment = segmentOf(clientId);
+        if(segment.contains(clientId)) {
+            hits.increment();
+            return true;
+        }
+        if(!existingClients.mightContain(clientId)) {
+            negativeHits.increment();
+            return false;
+        }
+
+        misses.increment();
+        final boolean exists = delegate.existsById(clientId);
+        if(exists) {
+            segment.add(clientId);
+        }
+        return exists;
+    }
+
+    @Override
+    public Stream<UUID> findAllIds() {
+        return delegate.findAllIds();
+    }
+
+    public void invalidate(UUID clientId) {
+        segmentOf(clientId).remove(clientId);
+        register(clientId);
+    }
+
+    public synchronized void invalidateAll() {
+        for(KnownClientSegment segment : segments) {
+            segment.clear();
+        }
+
+        final BloomFilter rebuilt = new BloomFilter(expectedClients, BLOOM_FALSE_POSITIVE_RATE);
+        synchronized (filterLock) {
+            rebuildingClients = rebuilt;
+        }
+        try {
+            loadExistingClients(rebuilt);
+            synchronized (filterLock) {
+                existingClients = rebuilt;
+            }
+        } finally {
+            synchronized (filterLock) {
+                rebuildingClients = null;
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), negativeHits.sum());
+    }
+
+    private void register(UUID clientId) {
+        synchronized (filterLock) {
+            existingClients.put(clientId);
+            if(rebuildingClients != null) {
+                rebuildingClients.put(clientId);
+            }
+        }
+    }
+
+    private void loadExistingClients(BloomFilter bloomFilter) {
+        try(Stream<UUID> clientIds = delegate.findAllIds()) {
+            clientIds.forEach(bloomFilter::put);
+        }
+    }
+
+    private KnownClientSegment segmentOf(UUID clientId) {
+        final int hash = clientId.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class KnownClientSegment {
+        private final Map<UUID, Boolean> clients;
+
+        KnownClientSegment(int capacity) {
+            this.clients = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Boolean> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        synchronized boolean contains(UUID clientId) {
+            return clients.get(clientId) != null;
+        }
+
+        synchronized void add(UUID clientId) {
+            clients.put(clientId, Boolean.TRUE);
+        }
+
+        synchronized void remove(UUID clientId) {
+            clients.remove(clientId);
+        }
+
+        synchronized void clear() {
+            clients.clear();
+        }
+    }
+}
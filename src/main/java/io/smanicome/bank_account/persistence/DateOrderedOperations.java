@@ -0,0 +1,75 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public final class DateOrderedOperations {
+    private DateOrderedOperations() {
+    }
+
+    public static int firstIndexNotBefore(List<BankOperation> operations, LocalDateTime date) {
+        int low = 0;
+        int high = operations.size();
+        while(low < high) {
+            final int middle = (low + high) >>> 1;
+            if(operations.get(middle).date().isBefore(date)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public static int firstIndexAfter(List<BankOperation> operations, LocalDateTime date) {
+        int low = 0;
+        int high = operations.size();
+        while(low < high) {
+            final int middle = (low + high) >>> 1;
+            if(operations.get(middle).date().isAfter(date)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    public static int indexOf(List<BankOperation> operations, OperationCursor cursor) {
+        final int runEnd = firstIndexAfter(operations, cursor.date());
+        for(int i = runEnd - 1; i >= 0 && operations.get(i).date().equals(cursor.date()); i--) {
+            if(operations.get(i).id().equals(cursor.operationId())) return i;
+        }
+        return firstIndexNotBefore(operations, cursor.date());
+    }
+
+    public static List<BankOperation> between(List<BankOperation> operations, LocalDateTime from, LocalDateTime to) {
+        if(!from.isBefore(to)) return List.of();
+        return operations.subList(firstIndexNotBefore(operations, from), firstIndexNotBefore(operations, to));
+    }
+
+    public static Amount balanceAt(List<BankOperation> operations, LocalDateTime date) {
+        final int end = firstIndexAfter(operations, date);
+        return end == 0 ? Amount.ZERO : operations.get(end - 1).balance();
+    }
+
+    public static OperationPage pageEndingAt(List<BankOperation> operations, int end, int limit) {
+        if(limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        if(end <= 0) return OperationPage.empty();
+
+        final int start = Math.max(0, end - limit);
+        final List<BankOperation> page = operations.subList(start, end);
+        final Optional<OperationCursor> next = start == 0
+                ? Optional.empty()
+                : Optional.of(cursorOf(page.get(0)));
+        return new OperationPage(page, next);
+    }
+
+    public static OperationCursor cursorOf(BankOperation operation) {
+        return new OperationCursor(operation.date(), operation.id());
+    }
+}
@@ -0,0 +1,370 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+public class FileIdempotencyStore implements IdempotencyStore, Closeable {
+    private static final int RECORD_HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int NO_LABEL = -1;
+    private static final byte PREPARED = 0;
+    private static final byte REMEMBERED = 1;
+    private static final BankOperation.OperationType[] OPERATION_TYPES = BankOperation.OperationType.values();
+
+    private final Path file;
+    private final Path baseFile;
+    private final Path rotatedFile;
+    private final Clock clock;
+    private final InMemoryIdempotencyStore keys;
+    private final int compactionThreshold;
+    private final Map<PendingKey, KeyRecord> prepared = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Object forceLock = new Object();
+    private final AtomicInteger recordsSinceCompaction = new AtomicInteger();
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final ExecutorService compactor;
+    private volatile FileChannel channel;
+    private long appended;
+    private volatile long forced;
+    private volatile IOException compactionFailure;
+
+    private FileIdempotencyStore(Path file, Clock clock, InMemoryIdempotencyStore keys, int compactionThreshold) throws IOException {
+        this.file = file;
+        this.baseFile = baseFileOf(file);
+        this.rotatedFile = rotatedFileOf(file);
+        this.clock = clock;
+        this.keys = keys;
+        this.compactionThreshold = compactionThreshold;
+        this.channel = openForAppend(file);
+        this.compactor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("idempotency-compaction").daemon().factory());
+    }
+
+    public static FileIdempotencyStore open(Path file, Clock clock, Duration retention, int maximumKeys, BankOperationRepository operations) throws IOException {
+        final InMemoryIdempotencyStore keys = new InMemoryIdempotencyStore(clock, retention, maximumKeys);
+        final Map<PendingKey, KeyRecord> pending = new HashMap<>();
+        for(Path segment : List.of(baseFileOf(file), rotatedFileOf(file), file)) {
+            if(Files.exists(segment)) {
+                replay(segment, keys, pending);
+            }
+        }
+        for(KeyRecord record : pending.values()) {
+            findSaved(operations, record.operation())
+                    .ifPresent(saved -> keys.remember(record.clientId(), record.idempotencyKey(), saved, record.recordedAt()));
+        }
+
+        writeBase(baseFileOf(file), List.of(), keys);
+        Files.deleteIfExists(rotatedFileOf(file));
+        FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE).close();
+        return new FileIdempotencyStore(file, clock, keys, maximumKeys);
+    }
+
+    @Override
+    public Optional<BankOperation> find(UUID clientId, String idempotencyKey) {
+        return keys.find(clientId, idempotencyKey);
+    }
+
+    @Override
+    public void prepare(UUID clientId, String idempotencyKey, BankOperation operation) {
+        final Instant preparedAt = clock.instant();
+        final ByteBuffer record = encode(PREPARED, clientId, idempotencyKey, operation, preparedAt);
+        prepared.put(new PendingKey(clientId, idempotencyKey), new KeyRecord(PREPARED, clientId, idempotencyKey, operation, preparedAt));
+        awaitDurable(append(record));
+    }
+
+    @Override
+    public void remember(UUID clientId, String idempotencyKey, BankOperation operation) {
+        final Instant rememberedAt = clock.instant();
+        final ByteBuffer record = encode(REMEMBERED, clientId, idempotencyKey, operation, rememberedAt);
+        appendLock.lock();
+        try {
+            keys.remember(clientId, idempotencyKey, operation, rememberedAt);
+            append(record);
+        } finally {
+            appendLock.unlock();
+        }
+        prepared.remove(new PendingKey(clientId, idempotencyKey));
+
+        if(recordsSinceCompaction.incrementAndGet() >= compactionThreshold && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(this::compact);
+        }
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public void force() {
+        force(channel);
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        boolean interrupted = false;
+        while(!compactor.isTerminated()) {
+            try {
+                compactor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) Thread.currentThread().interrupt();
+
+        appendLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+        if(compactionFailure != null) throw compactionFailure;
+    }
+
+    private void compact() {
+        try {
+            rotate();
+            writeBase(baseFile, List.copyOf(prepared.values()), keys);
+            Files.deleteIfExists(rotatedFile);
+        } catch (IOException e) {
+            compactionFailure = e;
+        } finally {
+            compactionScheduled.set(false);
+        }
+    }
+
+    private void rotate() throws IOException {
+        appendLock.lock();
+        try {
+            if(Files.exists(rotatedFile)) return;
+
+            final FileChannel rotated = channel;
+            rotated.force(false);
+            Files.move(file, rotatedFile, StandardCopyOption.ATOMIC_MOVE);
+            try {
+                channel = openForAppend(file);
+            } catch (IOException e) {
+                Files.move(rotatedFile, file, StandardCopyOption.ATOMIC_MOVE);
+                throw e;
+            }
+            recordsSinceCompaction.set(0);
+            rotated.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long append(ByteBuffer record) {
+        appendLock.lock();
+        try {
+            while(record.hasRemaining()) {
+                channel.write(record);
+            }
+            return ++appended;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void awaitDurable(long record) {
+        if(forced >= record) return;
+        synchronized (forceLock) {
+            if(forced >= record) return;
+
+            final long last;
+            final FileChannel target;
+            appendLock.lock();
+            try {
+                last = appended;
+                target = channel;
+            } finally {
+                appendLock.unlock();
+            }
+            force(target);
+            forced = last;
+        }
+    }
+
+    private static void force(FileChannel target) {
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path baseFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".base");
+    }
+
+    private static Path rotatedFileOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rotated");
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static Optional<BankOperation> findSaved(BankOperationRepository operations, BankOperation prepared) {
+        return operations.findByAccountIdBetween(prepared.clientId(), prepared.date().minusSeconds(1), prepared.date().plusSeconds(1)).stream()
+                .filter(saved -> saved.operationType() == prepared.operationType()
+                        && saved.amount().toMinorUnits() == prepared.amount().toMinorUnits()
+                        && saved.balance().toMinorUnits() == prepared.balance().toMinorUnits()
+                        && Objects.equals(saved.label(), prepared.label()))
+                .findFirst();
+    }
+
+    private static void replay(Path file, InMemoryIdempotencyStore keys, Map<PendingKey, KeyRecord> pending) throws IOException {
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        while(content.remaining() >= RECORD_HEADER_LENGTH) {
+            final int length = content.getInt(content.position());
+            final int checksum = content.getInt(content.position() + Integer.BYTES);
+            if(length <= 0 || length > content.remaining() - RECORD_HEADER_LENGTH) return;
+
+            final ByteBuffer payload = content.slice(content.position() + RECORD_HEADER_LENGTH, length);
+            if(checksum(payload) != checksum) return;
+
+            final KeyRecord record = decode(payload);
+            final PendingKey key = new PendingKey(record.clientId(), record.idempotencyKey());
+            if(record.kind() == PREPARED) {
+                pending.put(key, record);
+            } else {
+                keys.remember(record.clientId(), record.idempotencyKey(), record.operation(), record.recordedAt());
+                pending.remove(key);
+            }
+            content.position(content.position() + RECORD_HEADER_LENGTH + length);
+        }
+    }
+
+    private static void writeBase(Path baseFile, Collection<KeyRecord> prepared, InMemoryIdempotencyStore keys) throws IOException {
+        final Path temporary = baseFile.resolveSibling(baseFile.getFileName() + ".tmp");
+        try(FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for(KeyRecord pending : prepared) {
+                final ByteBuffer record = encode(PREPARED, pending.clientId(), pending.idempotencyKey(), pending.operation(), pending.recordedAt());
+                while(record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            final IOException[] failure = new IOException[1];
+            keys.forEachLive((clientId, idempotencyKey, operation, rememberedAt) -> {
+                if(failure[0] != null) return;
+                try {
+                    final ByteBuffer record = encode(REMEMBERED, clientId, idempotencyKey, operation, rememberedAt);
+                    while(record.hasRemaining()) {
+                        out.write(record);
+                    }
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if(failure[0] != null) throw failure[0];
+            out.force(true);
+        }
+        Files.move(temporary, baseFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static ByteBuffer encode(byte kind, UUID clientId, String idempotencyKey, BankOperation operation, Instant recordedAt) {
+        final byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+        final byte[] label = operation.label() == null ? null : operation.label().getBytes(StandardCharsets.UTF_8);
+        final int length = Byte.BYTES + Long.BYTES * 2 + Integer.BYTES + key.length
+                + Long.BYTES + Integer.BYTES
+                + Long.BYTES * 2 + Byte.BYTES + Long.BYTES * 2
+                + Long.BYTES + Integer.BYTES
+                + Integer.BYTES + (label == null ? 0 : label.length);
+
+        final ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + length);
+        record.position(RECORD_HEADER_LENGTH);
+        record.put(kind);
+        record.putLong(clientId.getMostSignificantBits()).putLong(clientId.getLeastSignificantBits());
+        record.putInt(key.length).put(key);
+        record.putLong(recordedAt.getEpochSecond()).putInt(recordedAt.getNano());
+        if(kind == PREPARED) {
+            record.putLong(0).putLong(0);
+        } else {
+            record.putLong(operation.id().getMostSignificantBits()).putLong(operation.id().getLeastSignificantBits());
+        }
+        record.put((byte) operation.operationType().ordinal());
+        record.putLong(operation.amount().toMinorUnits()).putLong(operation.balance().toMinorUnits());
+        record.putLong(operation.date().toEpochSecond(ZoneOffset.UTC)).putInt(operation.date().getNano());
+        record.putInt(label == null ? NO_LABEL : label.length);
+        if(label != null) record.put(label);
+
+        record.putInt(0, length);
+        record.putInt(Integer.BYTES, checksum(record.slice(RECORD_HEADER_LENGTH, length)));
+        return record.flip();
+    }
+
+    private static KeyRecord decode(ByteBuffer payload) throws IOException {
+        final byte kind = payload.get();
+        final UUID clientId = new UUID(payload.getLong(), payload.getLong());
+        final String idempotencyKey = readString(payload, payload.getInt());
+        final Instant recordedAt = Instant.ofEpochSecond(payload.getLong(), payload.getInt());
+        final UUID savedId = new UUID(payload.getLong(), payload.getLong());
+        final UUID id = kind == PREPARED ? null : savedId;
+        final BankOperation.OperationType type = OPERATION_TYPES[payload.get()];
+        final long amount = payload.getLong();
+        final long balance = payload.getLong();
+        final LocalDateTime date = LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+        final int labelLength = payload.getInt();
+        final String label = labelLength == NO_LABEL ? null : readString(payload, labelLength);
+
+        try {
+            return new KeyRecord(kind, clientId, idempotencyKey, new BankOperation(id, clientId, type, Amount.ofMinorUnits(amount), Amount.ofMinorUnits(balance), date, label), recordedAt);
+        } catch (NegativeAmountException e) {
+            throw new IOException("corrupt idempotency record", e);
+        }
+    }
+
+    private static String readString(ByteBuffer payload, int length) {
+        final byte[] bytes = new byte[length];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        final CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private record PendingKey(UUID clientId, String idempotencyKey) {
+    }
+
+    private record KeyRecord(byte kind, UUID clientId, String idempotencyKey, BankOperation operation, Instant recordedAt) {
+    }
+}
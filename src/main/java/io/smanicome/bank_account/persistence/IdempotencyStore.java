@@ -0,0 +1,15 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.BankOperation;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface IdempotencyStore {
+    Optional<BankOperation> find(UUID clientId, String idempotencyKey);
+
+    default void prepare(UUID clientId, String idempotencyKey, BankOperation operation) {
+    }
+
+    void remember(UUID clientId, String idempotencyKey, BankOperation operation);
+}
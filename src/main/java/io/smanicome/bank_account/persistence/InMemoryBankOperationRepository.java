@@ -0,0 +1,166 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.BankOperation;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryBankOperationRepository implements BankOperationRepository {
+    private static final int INITIAL_LOG_CAPACITY = 8;
+
+    private final Map<UUID, OperationLog> logs;
+    private final LabelDictionary labels;
+
+    public InMemoryBankOperationRepository() {
+        this(1024);
+    }
+
+    public InMemoryBankOperationRepository(int expectedClients) {
+        this(expectedClients, new LabelDictionary());
+    }
+
+    public InMemoryBankOperationRepository(int expectedClients, LabelDictionary labels) {
+        this.logs = new ConcurrentHashMap<>(expectedClients);
+        this.labels = labels;
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        final String label = labels.canonical(operation.label());
+        final BankOperation saved = operation.id() == null || label != operation.label()
+                ? new BankOperation(operation.id() == null ? UUID.randomUUID() : operation.id(), operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), operation.date(), label)
+                : operation;
+
+        logs.computeIfAbsent(saved.clientId(), clientId -> new OperationLog()).append(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        final OperationLog log = logs.get(clientId);
+        if(log == null) return Optional.empty();
+        return Optional.ofNullable(log.latest);
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        final OperationLog log = logs.get(clientId);
+        if(log == null) return List.of();
+        return log.snapshot();
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        final OperationLog log = logs.get(clientId);
+        if(log == null) return List.of();
+        return DateOrderedOperations.between(log.snapshot(), from, to);
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        final OperationLog log = logs.get(clientId);
+        if(log == null) return OperationPage.empty();
+
+        final List<BankOperation> snapshot = log.snapshot();
+        return DateOrderedOperations.pageEndingAt(snapshot, snapshot.size(), limit);
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        final OperationLog log = logs.get(clientId);
+        if(log == null) return OperationPage.empty();
+
+        final List<BankOperation> snapshot = log.snapshot();
+        return DateOrderedOperations.pageEndingAt(snapshot, DateOrderedOperations.indexOf(snapshot, cursor), limit);
+    }
+
+    private static final class OperationLog {
+        private volatile BankOperation[] operations = new BankOperation[INITIAL_LOG_CAPACITY];
+        private volatile int size;
+        private volatile int reorderVersion;
+        private volatile BankOperation latest;
+
+        synchronized void append(BankOperation operation) {
+            final int currentSize = size;
+            if(currentSize > 0 && operations[currentSize - 1].date().isAfter(operation.date())) {
+                insertOutOfOrder(operation, currentSize);
+            } else {
+                BankOperation[] current = operations;
+                if(currentSize == current.length) {
+                    current = Arrays.copyOf(current, currentSize + (currentSize >> 1));
+                    operations = current;
+                }
+                current[currentSize] = operation;
+                size = currentSize + 1;
+            }
+            latest = operation;
+        }
+
+        private void insertOutOfOrder(BankOperation operation, int currentSize) {
+            final BankOperation[] current = operations;
+            final int position = DateOrderedOperations.firstIndexAfter(new OperationLogView(current, 0, currentSize), operation.date());
+
+            final BankOperation[] reordered = new BankOperation[Math.max(current.length, currentSize + 1 + (currentSize >> 1))];
+            System.arraycopy(current, 0, reordered, 0, position);
+            reordered[position] = operation;
+            System.arraycopy(current, position, reordered, position + 1, currentSize - position);
+
+            reorderVersion++;
+            operations = reordered;
+            size = currentSize + 1;
+            reorderVersion++;
+        }
+
+        List<BankOperation> snapshot() {
+            while(true) {
+                final int version = reorderVersion;
+                if((version & 1) == 1) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                final int snapshotSize = size;
+                final BankOperation[] snapshotOperations = operations;
+                if(version == reorderVersion) {
+                    return new OperationLogView(snapshotOperations, 0, snapshotSize);
+                }
+            }
+        }
+    }
+
+    private static final class OperationLogView extends AbstractList<BankOperation> implements RandomAccess {
+        private final BankOperation[] operations;
+        private final int from;
+        private final int to;
+
+        private OperationLogView(BankOperation[] operations, int from, int to) {
+            this.operations = operations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public BankOperation get(int index) {
+            if(index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+            return operations[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<BankOperation> subList(int fromIndex, int toIndex) {
+            if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException(fromIndex);
+            return new OperationLogView(operations, from + fromIndex, from + toIndex);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.BankOperation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+    private final Clock clock;
+    private final Duration retention;
+    private final int maximumKeys;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<QueuedEntry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public InMemoryIdempotencyStore(Clock clock, Duration retention, int maximumKeys) {
+        if(retention.isNegative() || retention.isZero()) throw new IllegalArgumentException("retention must be positive");
+        if(maximumKeys <= 0) throw new IllegalArgumentException("maximum keys must be positive");
+
+        this.clock = clock;
+        this.retention = retention;
+        this.maximumKeys = maximumKeys;
+    }
+
+    @Override
+    public Optional<BankOperation> find(UUID clientId, String idempotencyKey) {
+        final Entry entry = entries.get(new Key(clientId, idempotencyKey));
+        if(entry == null || isExpired(entry, clock.instant())) return Optional.empty();
+        return Optional.of(entry.operation());
+    }
+
+    @Override
+    public void remember(UUID clientId, String idempotencyKey, BankOperation operation) {
+        remember(clientId, idempotencyKey, operation, clock.instant());
+    }
+
+    void remember(UUID clientId, String idempotencyKey, BankOperation operation, Instant rememberedAt) {
+        final Key key = new Key(clientId, idempotencyKey);
+        final Entry entry = new Entry(operation, rememberedAt);
+        entries.put(key, entry);
+        insertionOrder.add(new QueuedEntry(key, entry));
+        evict(clock.instant());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void forEachLive(EntryVisitor visitor) {
+        final Instant now = clock.instant();
+        for(QueuedEntry queued : insertionOrder) {
+            final Entry entry = queued.entry();
+            if(entries.get(queued.key()) == entry && !isExpired(entry, now)) {
+                visitor.visit(queued.key().clientId(), queued.key().idempotencyKey(), entry.operation(), entry.rememberedAt());
+            }
+        }
+    }
+
+    private void evict(Instant now) {
+        while(true) {
+            final QueuedEntry eldest = insertionOrder.peek();
+            if(eldest == null) return;
+
+            final boolean replaced = entries.get(eldest.key()) != eldest.entry();
+            if(!replaced && entries.size() <= maximumKeys && !isExpired(eldest.entry(), now)) return;
+            if(insertionOrder.remove(eldest)) {
+                entries.remove(eldest.key(), eldest.entry());
+            }
+        }
+    }
+
+    private boolean isExpired(Entry entry, Instant now) {
+        return !entry.rememberedAt().plus(retention).isAfter(now);
+    }
+
+    interface EntryVisitor {
+        void visit(UUID clientId, String idempotencyKey, BankOperation operation, Instant rememberedAt);
+    }
+
+    private record Key(UUID clientId, String idempotencyKey) {
+    }
+
+    private record Entry(BankOperation operation, Instant rememberedAt) {
+    }
+
+    private record QueuedEntry(Key key, Entry entry) {
+    }
+}
@@ -0,0 +1,105 @@
+package io.smanicome.bank_account.persistence;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class LabelDictionary {
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+    public static final int NO_LABEL = -1;
+    public static final int NOT_INTERNED = -2;
+
+    private static final double DOORKEEPER_FALSE_POSITIVE_RATE = 0.01;
+
+    private final int maximumSize;
+    private final long doorkeeperCapacity;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicLong doorkeeperInsertions = new AtomicLong();
+    private volatile String[] labels = new String[16];
+    private volatile BloomFilter doorkeeper;
+
+    public LabelDictionary() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public LabelDictionary(int maximumSize) {
+        if(maximumSize <= 0) throw new IllegalArgumentException("maximum size must be positive");
+
+        this.maximumSize = maximumSize;
+        this.doorkeeperCapacity = Math.max(1024, maximumSize * 8L);
+        this.doorkeeper = new BloomFilter(doorkeeperCapacity, DOORKEEPER_FALSE_POSITIVE_RATE);
+    }
+
+    public int idOf(String label) {
+        if(label == null) return NO_LABEL;
+
+        final Integer id = ids.get(label);
+        if(id != null) return id;
+        if(ids.size() >= maximumSize) return NOT_INTERNED;
+
+        final long hash = hash(label);
+        final BloomFilter seen = doorkeeper;
+        if(!seen.mightContain(hash)) {
+            seen.put(hash);
+            if(doorkeeperInsertions.incrementAndGet() >= doorkeeperCapacity) {
+                resetDoorkeeper(seen);
+            }
+            return NOT_INTERNED;
+        }
+        return intern(label);
+    }
+
+    public String labelOf(int id) {
+        if(id == NO_LABEL) return null;
+        return labels[id];
+    }
+
+    public String canonical(String label) {
+        final int id = idOf(label);
+        return id >= 0 ? labelOf(id) : label;
+    }
+
+    public String lookupCanonical(String label) {
+        if(label == null) return null;
+
+        final Integer id = ids.get(label);
+        return id == null ? label : labels[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private synchronized int intern(String label) {
+        final Integer raced = ids.get(label);
+        if(raced != null) return raced;
+
+        final int id = ids.size();
+        if(id >= maximumSize) return NOT_INTERNED;
+
+        String[] current = labels;
+        if(id == current.length) {
+            current = Arrays.copyOf(current, Math.min(maximumSize, id << 1));
+        }
+        current[id] = label;
+        labels = current;
+        ids.put(label, id);
+        return id;
+    }
+
+    private synchronized void resetDoorkeeper(BloomFilter saturated) {
+        if(doorkeeper != saturated) return;
+        doorkeeper = new BloomFilter(doorkeeperCapacity, DOORKEEPER_FALSE_POSITIVE_RATE);
+        doorkeeperInsertions.set(0);
+    }
+
+    private static long hash(String label) {
+        long hash = 0xCBF29CE484222325L;
+        for(int i = 0; i < label.length(); i++) {
+            hash ^= label.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,7 @@
+package io.smanicome.bank_account.persistence;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OperationCursor(LocalDateTime date, UUID operationId) {
+}
@@ -0,0 +1,12 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.BankOperation;
+
+import java.util.List;
+import java.util.Optional;
+
+public record OperationPage(List<BankOperation> operations, Optional<OperationCursor> next) {
+    public static OperationPage empty() {
+        return new OperationPage(List.of(), Optional.empty());
+    }
+}
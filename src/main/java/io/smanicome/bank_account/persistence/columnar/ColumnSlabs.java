@@ -0,0 +1,65 @@
+package io.smanicome.bank_account.persistence.columnar;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+final class ColumnSlabs {
+    static final int DEFAULT_SLAB_BYTES = 4 << 20;
+
+    private static final Cleaner RETIRED_REGIONS = Cleaner.create();
+    private static final int REGION_ALIGNMENT = Long.BYTES;
+
+    private final int slabBytes;
+    private final Map<Integer, ArrayDeque<Region>> freeRegions = new HashMap<>();
+    private ByteBuffer slab;
+    private int slabPosition;
+    private long reservedBytes;
+
+    ColumnSlabs(int slabBytes) {
+        if(slabBytes <= 0) throw new IllegalArgumentException("slab size must be positive");
+        this.slabBytes = slabBytes;
+    }
+
+    synchronized Region allocate(int capacity) {
+        final ArrayDeque<Region> free = freeRegions.get(capacity);
+        if(free != null && !free.isEmpty()) return free.pop();
+
+        final int bytes = regionBytes(capacity);
+        if(bytes > slabBytes) {
+            reservedBytes += bytes;
+            return new Region(ByteBuffer.allocateDirect(bytes), 0, capacity);
+        }
+        if(slab == null || slabPosition + bytes > slabBytes) {
+            slab = ByteBuffer.allocateDirect(slabBytes);
+            slabPosition = 0;
+            reservedBytes += slabBytes;
+        }
+        final Region region = new Region(slab, slabPosition, capacity);
+        slabPosition += bytes;
+        return region;
+    }
+
+    void retire(OperationColumns columns) {
+        final Region region = columns.region();
+        RETIRED_REGIONS.register(columns, () -> release(region));
+    }
+
+    synchronized void release(Region region) {
+        freeRegions.computeIfAbsent(region.capacity(), capacity -> new ArrayDeque<>()).push(region);
+    }
+
+    synchronized long reservedBytes() {
+        return reservedBytes;
+    }
+
+    private static int regionBytes(int capacity) {
+        final int bytes = Math.multiplyExact(capacity, OperationColumns.ROW_BYTES);
+        return Math.addExact(bytes, REGION_ALIGNMENT - 1) & -REGION_ALIGNMENT;
+    }
+
+    record Region(ByteBuffer slab, int offset, int capacity) {
+    }
+}
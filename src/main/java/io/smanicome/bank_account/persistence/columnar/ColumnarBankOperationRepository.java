@@ -0,0 +1,262 @@
+package io.smanicome.bank_account.persistence.columnar;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.DateOrderedOperations;
+import io.smanicome.bank_account.persistence.LabelDictionary;
+import io.smanicome.bank_account.persistence.OperationCursor;
+import io.smanicome.bank_account.persistence.OperationPage;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ColumnarBankOperationRepository implements BankOperationRepository {
+    private static final int INITIAL_CLIENT_CAPACITY = 8;
+    private static final int FIRST_RARE_LABEL = LabelDictionary.NOT_INTERNED;
+    private static final String[] NO_RARE_LABELS = new String[0];
+
+    private final Map<UUID, ClientHistory> histories;
+    private final LabelDictionary labels;
+    private final ColumnSlabs slabs;
+
+    public ColumnarBankOperationRepository() {
+        this(1024);
+    }
+
+    public ColumnarBankOperationRepository(int expectedClients) {
+        this(expectedClients, new LabelDictionary());
+    }
+
+    public ColumnarBankOperationRepository(int expectedClients, LabelDictionary labels) {
+        this(expectedClients, labels, ColumnSlabs.DEFAULT_SLAB_BYTES);
+    }
+
+    ColumnarBankOperationRepository(int expectedClients, LabelDictionary labels, int slabBytes) {
+        this.histories = new ConcurrentHashMap<>(expectedClients);
+        this.labels = labels;
+        this.slabs = new ColumnSlabs(slabBytes);
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        final LocalDateTime date = operation.date().truncatedTo(ChronoUnit.MICROS);
+        final BankOperation saved = operation.id() == null || !date.equals(operation.date())
+                ? new BankOperation(operation.id() == null ? UUID.randomUUID() : operation.id(), operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), date, operation.label())
+                : operation;
+
+        histories.computeIfAbsent(saved.clientId(), ClientHistory::new).append(saved);
+        return saved;
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return Optional.empty();
+
+        final Rows rows = history.rows;
+        return Optional.of(rows.columns().read(clientId, rows.latestRow(), history));
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return List.of();
+        return history.view();
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return List.of();
+        return DateOrderedOperations.between(history.view(), from, to);
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return OperationPage.empty();
+
+        final List<BankOperation> view = history.view();
+        return DateOrderedOperations.pageEndingAt(view, view.size(), limit);
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return OperationPage.empty();
+
+        final List<BankOperation> view = history.view();
+        return DateOrderedOperations.pageEndingAt(view, DateOrderedOperations.indexOf(view, cursor), limit);
+    }
+
+    @Override
+    public Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return Amount.ZERO;
+
+        final Rows rows = history.rows;
+        final int end = ClientHistory.firstRowAfter(rows, OperationColumns.toEpochMicrosSaturated(date));
+        if(end == 0) return Amount.ZERO;
+
+        try {
+            return Amount.ofMinorUnits(rows.columns().balance(end - 1));
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public long operationCount() {
+        long count = 0;
+        for(ClientHistory history : histories.values()) {
+            count += history.rows.size();
+        }
+        return count;
+    }
+
+    public long offHeapBytes() {
+        return slabs.reservedBytes();
+    }
+
+    int rareLabelCount(UUID clientId) {
+        final ClientHistory history = histories.get(clientId);
+        if(history == null) return 0;
+        synchronized (history) {
+            return history.rareLabelIds == null ? 0 : history.rareLabelIds.size();
+        }
+    }
+
+    private record Rows(OperationColumns columns, int size, int latestRow) {
+    }
+
+    private final class ClientHistory implements OperationColumns.LabelLookup {
+        private final UUID clientId;
+        private volatile Rows rows = new Rows(new OperationColumns(slabs.allocate(INITIAL_CLIENT_CAPACITY)), 0, -1);
+        private volatile String[] rareLabels = NO_RARE_LABELS;
+        private Map<String, Integer> rareLabelIds;
+
+        private ClientHistory(UUID clientId) {
+            this.clientId = clientId;
+        }
+
+        @Override
+        public String label(int labelId) {
+            return labelId > FIRST_RARE_LABEL ? labels.labelOf(labelId) : rareLabels[FIRST_RARE_LABEL - labelId];
+        }
+
+        synchronized void append(BankOperation operation) {
+            final int labelId = labelIdOf(operation.label());
+            final Rows current = rows;
+            final int size = current.size();
+            final long epochMicros = OperationColumns.toEpochMicros(operation.date());
+
+            if(size > 0 && current.columns().epochMicros(size - 1) > epochMicros) {
+                final int position = firstRowAfter(current, epochMicros);
+                final OperationColumns reordered = new OperationColumns(slabs.allocate(size == current.columns().capacity() ? grownCapacity(size) : current.columns().capacity()));
+                current.columns().copyRows(0, reordered, 0, position);
+                reordered.write(position, operation, labelId);
+                current.columns().copyRows(position, reordered, position + 1, size - position);
+                rows = new Rows(reordered, size + 1, position);
+                slabs.retire(current.columns());
+                return;
+            }
+
+            final OperationColumns columns = current.columns();
+            if(size == columns.capacity()) {
+                final OperationColumns grown = new OperationColumns(slabs.allocate(grownCapacity(size)));
+                columns.copyRows(0, grown, 0, size);
+                grown.write(size, operation, labelId);
+                rows = new Rows(grown, size + 1, size);
+                slabs.retire(columns);
+                return;
+            }
+            columns.write(size, operation, labelId);
+            rows = new Rows(columns, size + 1, size);
+        }
+
+        List<BankOperation> view() {
+            final Rows snapshot = rows;
+            return new ColumnView(this, snapshot.columns(), 0, snapshot.size());
+        }
+
+        private int labelIdOf(String label) {
+            final int id = labels.idOf(label);
+            if(id != LabelDictionary.NOT_INTERNED) return id;
+
+            if(rareLabelIds == null) {
+                rareLabelIds = new HashMap<>();
+            }
+            final Integer existing = rareLabelIds.get(label);
+            if(existing != null) return FIRST_RARE_LABEL - existing;
+
+            final int index = rareLabelIds.size();
+            String[] current = rareLabels;
+            if(index == current.length) {
+                current = Arrays.copyOf(current, Math.max(4, index << 1));
+            }
+            current[index] = label;
+            rareLabels = current;
+            rareLabelIds.put(label, index);
+            return FIRST_RARE_LABEL - index;
+        }
+
+        private static int firstRowAfter(Rows rows, long epochMicros) {
+            int low = 0;
+            int high = rows.size();
+            while(low < high) {
+                final int middle = (low + high) >>> 1;
+                if(rows.columns().epochMicros(middle) > epochMicros) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private static int grownCapacity(int size) {
+            return size << 1;
+        }
+    }
+
+    private final class ColumnView extends AbstractList<BankOperation> implements RandomAccess {
+        private final ClientHistory history;
+        private final OperationColumns columns;
+        private final int from;
+        private final int to;
+
+        private ColumnView(ClientHistory history, OperationColumns columns, int from, int to) {
+            this.history = history;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public BankOperation get(int index) {
+            if(index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+            return columns.read(history.clientId, from + index, history);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public List<BankOperation> subList(int fromIndex, int toIndex) {
+            if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException(fromIndex);
+            return new ColumnView(history, columns, from + fromIndex, from + toIndex);
+        }
+    }
+}
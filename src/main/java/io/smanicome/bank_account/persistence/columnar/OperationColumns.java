@@ -0,0 +1,128 @@
+package io.smanicome.bank_account.persistence.columnar;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+final class OperationColumns {
+    static final int ROW_BYTES = 8 + 8 + 8 + 8 + 8 + 4 + 1;
+
+    private static final int MICROS_PER_SECOND = 1_000_000;
+    private static final int NANOS_PER_MICRO = 1_000;
+    private static final BankOperation.OperationType[] OPERATION_TYPES = BankOperation.OperationType.values();
+
+    private final ColumnSlabs.Region region;
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int idMostBitsOffset;
+    private final int idLeastBitsOffset;
+    private final int amountOffset;
+    private final int balanceOffset;
+    private final int dateOffset;
+    private final int labelOffset;
+    private final int typeOffset;
+
+    OperationColumns(ColumnSlabs.Region region) {
+        final int capacity = region.capacity();
+        this.region = region;
+        this.buffer = region.slab();
+        this.capacity = capacity;
+        this.idMostBitsOffset = region.offset();
+        this.idLeastBitsOffset = idMostBitsOffset + capacity * Long.BYTES;
+        this.amountOffset = idLeastBitsOffset + capacity * Long.BYTES;
+        this.balanceOffset = amountOffset + capacity * Long.BYTES;
+        this.dateOffset = balanceOffset + capacity * Long.BYTES;
+        this.labelOffset = dateOffset + capacity * Long.BYTES;
+        this.typeOffset = labelOffset + capacity * Integer.BYTES;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    ColumnSlabs.Region region() {
+        return region;
+    }
+
+    void write(int row, BankOperation operation, int labelId) {
+        buffer.putLong(idMostBitsOffset + row * Long.BYTES, operation.id().getMostSignificantBits());
+        buffer.putLong(idLeastBitsOffset + row * Long.BYTES, operation.id().getLeastSignificantBits());
+        buffer.putLong(amountOffset + row * Long.BYTES, operation.amount().toMinorUnits());
+        buffer.putLong(balanceOffset + row * Long.BYTES, operation.balance().toMinorUnits());
+        buffer.putLong(dateOffset + row * Long.BYTES, toEpochMicros(operation.date()));
+        buffer.putInt(labelOffset + row * Integer.BYTES, labelId);
+        buffer.put(typeOffset + row, (byte) operation.operationType().ordinal());
+    }
+
+    void copyRows(int fromRow, OperationColumns target, int toRow, int rows) {
+        copy(idMostBitsOffset, target.idMostBitsOffset, Long.BYTES, fromRow, target, toRow, rows);
+        copy(idLeastBitsOffset, target.idLeastBitsOffset, Long.BYTES, fromRow, target, toRow, rows);
+        copy(amountOffset, target.amountOffset, Long.BYTES, fromRow, target, toRow, rows);
+        copy(balanceOffset, target.balanceOffset, Long.BYTES, fromRow, target, toRow, rows);
+        copy(dateOffset, target.dateOffset, Long.BYTES, fromRow, target, toRow, rows);
+        copy(labelOffset, target.labelOffset, Integer.BYTES, fromRow, target, toRow, rows);
+        copy(typeOffset, target.typeOffset, Byte.BYTES, fromRow, target, toRow, rows);
+    }
+
+    long epochMicros(int row) {
+        return buffer.getLong(dateOffset + row * Long.BYTES);
+    }
+
+    LocalDateTime date(int row) {
+        return fromEpochMicros(epochMicros(row));
+    }
+
+    long balance(int row) {
+        return buffer.getLong(balanceOffset + row * Long.BYTES);
+    }
+
+    UUID id(int row) {
+        return new UUID(buffer.getLong(idMostBitsOffset + row * Long.BYTES), buffer.getLong(idLeastBitsOffset + row * Long.BYTES));
+    }
+
+    BankOperation read(UUID clientId, int row, LabelLookup labels) {
+        try {
+            return new BankOperation(
+                    id(row),
+                    clientId,
+                    OPERATION_TYPES[buffer.get(typeOffset + row)],
+                    Amount.ofMinorUnits(buffer.getLong(amountOffset + row * Long.BYTES)),
+                    Amount.ofMinorUnits(balance(row)),
+                    date(row),
+                    labels.label(buffer.getInt(labelOffset + row * Integer.BYTES)));
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    static long toEpochMicros(LocalDateTime date) {
+        return Math.addExact(Math.multiplyExact(date.toEpochSecond(ZoneOffset.UTC), MICROS_PER_SECOND), date.getNano() / NANOS_PER_MICRO);
+    }
+
+    static long toEpochMicrosSaturated(LocalDateTime date) {
+        final long epochSecond = date.toEpochSecond(ZoneOffset.UTC);
+        if(epochSecond > Long.MAX_VALUE / MICROS_PER_SECOND - 1) return Long.MAX_VALUE;
+        if(epochSecond < Long.MIN_VALUE / MICROS_PER_SECOND + 1) return Long.MIN_VALUE;
+        return toEpochMicros(date);
+    }
+
+    static LocalDateTime fromEpochMicros(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMicros, MICROS_PER_SECOND),
+                Math.floorMod(epochMicros, MICROS_PER_SECOND) * NANOS_PER_MICRO,
+                ZoneOffset.UTC);
+    }
+
+    private void copy(int sourceColumn, int targetColumn, int width, int fromRow, OperationColumns target, int toRow, int rows) {
+        target.buffer.put(targetColumn + toRow * width, buffer, sourceColumn + fromRow * width, rows * width);
+    }
+
+    interface LabelLookup {
+        String label(int labelId);
+    }
+}
@@ -0,0 +1,227 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.OperationCursor;
+import io.smanicome.bank_account.persistence.OperationPage;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GroupCommitBankOperationRepository implements BankOperationRepository, Closeable {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final JournalBankOperationRepository delegate;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final AtomicLong commits = new AtomicLong();
+    private volatile boolean closed;
+    private volatile Throwable failure;
+    private boolean shutDown;
+
+    public GroupCommitBankOperationRepository(JournalBankOperationRepository delegate, int maxBatchSize, Duration maxWait) {
+        if(maxBatchSize <= 0) throw new IllegalArgumentException("max batch size must be positive");
+        if(maxWait.isNegative()) throw new IllegalArgumentException("max wait must not be negative");
+
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.committer = Thread.ofPlatform()
+                .name("journal-group-commit")
+                .daemon()
+                .start(this::run);
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        return saveAll(List.of(operation)).get(0);
+    }
+
+    @Override
+    public List<BankOperation> saveAll(List<BankOperation> operations) {
+        if(operations.isEmpty()) return List.of();
+        operations.forEach(JournalRecord::validate);
+
+        final PendingWrite write = new PendingWrite(List.copyOf(operations), new CompletableFuture<>());
+        synchronized (this) {
+            if(closed) throw new IllegalStateException("repository is closed", failure);
+            pendingWrites.add(write);
+        }
+
+        try {
+            return write.durable().join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        return delegate.findLatestOperationByClientId(clientId);
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        return delegate.findByAccountId(clientId);
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        return delegate.findByAccountIdBetween(clientId, from, to);
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        return delegate.findLatestOperations(clientId, limit);
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        return delegate.findOperationsBefore(clientId, cursor, limit);
+    }
+
+    @Override
+    public Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        return delegate.findBalanceAt(clientId, date);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if(shutDown) return;
+            shutDown = true;
+            closed = true;
+        }
+
+        boolean interrupted = false;
+        while(committer.isAlive()) {
+            try {
+                committer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        delegate.close();
+        if(interrupted) Thread.currentThread().interrupt();
+    }
+
+    long commits() {
+        return commits.get();
+    }
+
+    private void run() {
+        final List<PendingWrite> group = new ArrayList<>();
+        PendingWrite carried = null;
+
+        while(carried != null || !closed || !pendingWrites.isEmpty()) {
+            if(failure != null) {
+                if(carried != null) carried.durable().completeExceptionally(failure);
+                return;
+            }
+            try {
+                final PendingWrite first = carried != null ? carried : pendingWrites.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                carried = null;
+                if(first == null) continue;
+
+                group.add(first);
+                int operations = first.operations().size();
+                final long deadline = System.nanoTime() + maxWaitNanos;
+                while(operations < maxBatchSize) {
+                    PendingWrite next = pendingWrites.poll();
+                    if(next == null) {
+                        final long remaining = deadline - System.nanoTime();
+                        if(remaining <= 0) break;
+                        next = pendingWrites.poll(remaining, TimeUnit.NANOSECONDS);
+                        if(next == null) break;
+                    }
+                    if(operations + next.operations().size() > maxBatchSize) {
+                        carried = next;
+                        break;
+                    }
+                    group.add(next);
+                    operations += next.operations().size();
+                }
+
+                commit(group, operations);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                group.forEach(write -> write.durable().completeExceptionally(e));
+                if(carried != null) carried.durable().completeExceptionally(e);
+                abandon(e);
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> group, int operationCount) {
+        if(group.isEmpty()) return;
+        if(failure != null) {
+            group.forEach(write -> write.durable().completeExceptionally(failure));
+            return;
+        }
+
+        final List<BankOperation> operations = new ArrayList<>(operationCount);
+        for(PendingWrite write : group) {
+            operations.addAll(write.operations());
+        }
+
+        final List<BankOperation> saved;
+        try {
+            saved = delegate.saveAll(operations);
+        } catch (RuntimeException e) {
+            if(group.size() == 1) {
+                group.get(0).durable().completeExceptionally(e);
+            } else {
+                group.forEach(write -> commit(List.of(write), write.operations().size()));
+            }
+            return;
+        }
+
+        try {
+            delegate.force();
+        } catch (RuntimeException e) {
+            abandon(e);
+            group.forEach(write -> write.durable().completeExceptionally(e));
+            return;
+        }
+        commits.incrementAndGet();
+
+        int from = 0;
+        for(PendingWrite write : group) {
+            final int to = from + write.operations().size();
+            write.durable().complete(List.copyOf(saved.subList(from, to)));
+            from = to;
+        }
+    }
+
+    private void abandon(Throwable cause) {
+        synchronized (this) {
+            failure = cause;
+            closed = true;
+        }
+        PendingWrite write;
+        while((write = pendingWrites.poll()) != null) {
+            write.durable().completeExceptionally(cause);
+        }
+    }
+
+    private record PendingWrite(List<BankOperation> operations, CompletableFuture<List<BankOperation>> durable) {
+    }
+}
@@ -0,0 +1,250 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+final class Journal {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int ZEROING_CHUNK = 4096;
+    private static final ByteBuffer ZEROES = ByteBuffer.allocateDirect(ZEROING_CHUNK).asReadOnlyBuffer();
+    private static final sun.misc.Unsafe UNSAFE = unsafe();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
+    private long writePosition;
+    private int firstUnforcedSegment;
+    private volatile boolean closed;
+
+    private Journal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    static Journal open(Path directory, int segmentSize) throws IOException {
+        if(segmentSize < JournalRecord.HEADER_LENGTH) throw new IllegalArgumentException("segment size is too small");
+        Files.createDirectories(directory);
+
+        final Journal journal = new Journal(directory, segmentSize);
+        for(int index = 0; index < journal.existingSegmentCount(); index++) {
+            journal.segments.add(journal.map(index));
+        }
+        if(journal.segments.isEmpty()) {
+            journal.segments.add(journal.map(0));
+        }
+        return journal;
+    }
+
+    long recover(long fromPosition, RecordVisitor visitor) throws IOException {
+        final List<PendingRecord> pendingBatch = new ArrayList<>();
+        long batchStart = fromPosition;
+        long position = fromPosition;
+
+        while(true) {
+            final int segmentIndex = segmentIndex(position);
+            if(segmentIndex >= segments.size()) break;
+
+            final MappedByteBuffer segment = segments.get(segmentIndex);
+            final int offset = segmentOffset(position);
+            final int remaining = segmentSize - offset;
+
+            if(remaining < JournalRecord.HEADER_LENGTH || segment.getInt(offset) == 0) {
+                if(segmentIndex + 1 >= segments.size()) break;
+                position = (long) (segmentIndex + 1) * segmentSize;
+                continue;
+            }
+            if(!JournalRecord.isValid(segment, offset, remaining)) break;
+
+            final ByteBuffer record = segment.slice(offset, segment.getInt(offset + JournalRecord.LENGTH_OFFSET));
+            pendingBatch.add(new PendingRecord(position, record));
+            position += record.capacity();
+
+            if((JournalRecord.flags(record) & JournalRecord.FLAG_BATCH_CONTINUES) == 0) {
+                for(PendingRecord pending : pendingBatch) {
+                    visitor.visit(pending.position(), pending.record());
+                }
+                pendingBatch.clear();
+                batchStart = position;
+            }
+        }
+
+        truncate(batchStart, (long) segments.size() * segmentSize);
+        writePosition = batchStart;
+        firstUnforcedSegment = segmentIndex(batchStart);
+        return batchStart;
+    }
+
+    long append(ByteBuffer record) throws IOException {
+        if(closed) throw new IllegalStateException("journal is closed");
+        final int length = record.remaining();
+        if(length > segmentSize) throw new IllegalArgumentException("record is larger than a journal segment");
+
+        if(segmentOffset(writePosition) + length > segmentSize) {
+            writePosition = (long) (segmentIndex(writePosition) + 1) * segmentSize;
+        }
+
+        final int segmentIndex = segmentIndex(writePosition);
+        while(segments.size() <= segmentIndex) {
+            segments.add(map(segments.size()));
+        }
+
+        final long position = writePosition;
+        segments.get(segmentIndex).put(segmentOffset(position), record, record.position(), length);
+        writePosition = position + length;
+        return position;
+    }
+
+    void beginRead() {
+        mappingLock.readLock().lock();
+        if(closed) {
+            mappingLock.readLock().unlock();
+            throw new IllegalStateException("journal is closed");
+        }
+    }
+
+    void endRead() {
+        mappingLock.readLock().unlock();
+    }
+
+    ByteBuffer read(long position) {
+        final MappedByteBuffer segment = segments.get(segmentIndex(position));
+        final int offset = segmentOffset(position);
+        return segment.slice(offset, segment.getInt(offset + JournalRecord.LENGTH_OFFSET));
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    long writePosition() {
+        return writePosition;
+    }
+
+    void force() {
+        final int lastSegment = segmentIndex(writePosition);
+        for(int index = firstUnforcedSegment; index <= lastSegment && index < segments.size(); index++) {
+            segments.get(index).force();
+        }
+        firstUnforcedSegment = lastSegment;
+    }
+
+    void rollback(long position) throws IOException {
+        truncate(position, writePosition);
+        writePosition = position;
+    }
+
+    void close() {
+        mappingLock.writeLock().lock();
+        try {
+            if(closed) return;
+            force();
+            closed = true;
+            segments.forEach(UNSAFE::invokeCleaner);
+            segments.clear();
+        } finally {
+            mappingLock.writeLock().unlock();
+        }
+    }
+
+    private void truncate(long position, long end) throws IOException {
+        final int segmentIndex = segmentIndex(position);
+        if(segmentIndex >= segments.size()) return;
+
+        final MappedByteBuffer segment = segments.get(segmentIndex);
+        final int offset = segmentOffset(position);
+        final int zeroedEnd = segmentIndex(end) > segmentIndex ? segmentSize : segmentOffset(end);
+        if(zero(segment, offset, zeroedEnd)) {
+            segment.force();
+        }
+
+        while(segments.size() > segmentIndex + 1) {
+            final int last = segments.size() - 1;
+            UNSAFE.invokeCleaner(segments.remove(last));
+            Files.deleteIfExists(segmentPath(last));
+        }
+    }
+
+    private static boolean zero(MappedByteBuffer segment, int from, int to) {
+        boolean zeroed = false;
+        for(int chunk = from; chunk < to; chunk += ZEROING_CHUNK) {
+            final int length = Math.min(ZEROING_CHUNK, to - chunk);
+            if(isZero(segment, chunk, length)) continue;
+            segment.put(chunk, ZEROES, 0, length);
+            zeroed = true;
+        }
+        return zeroed;
+    }
+
+    private static boolean isZero(ByteBuffer segment, int offset, int length) {
+        int index = offset;
+        for(; index + Long.BYTES <= offset + length; index += Long.BYTES) {
+            if(segment.getLong(index) != 0) return false;
+        }
+        for(; index < offset + length; index++) {
+            if(segment.get(index) != 0) return false;
+        }
+        return true;
+    }
+
+    private static sun.misc.Unsafe unsafe() {
+        try {
+            final Field field = sun.misc.Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (sun.misc.Unsafe) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private int existingSegmentCount() throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            final long count = files
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .count();
+            for(int index = 0; index < count; index++) {
+                if(!Files.exists(segmentPath(index))) throw new IOException("missing journal segment " + segmentPath(index));
+            }
+            return (int) count;
+        }
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        try(FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private int segmentIndex(long position) {
+        return (int) (position / segmentSize);
+    }
+
+    private int segmentOffset(long position) {
+        return (int) (position % segmentSize);
+    }
+
+    interface RecordVisitor {
+        void visit(long position, ByteBuffer record);
+    }
+
+    private record PendingRecord(long position, ByteBuffer record) {
+    }
+}
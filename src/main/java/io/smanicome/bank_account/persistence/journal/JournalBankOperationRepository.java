@@ -0,0 +1,339 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.DateOrderedOperations;
+import io.smanicome.bank_account.persistence.LabelDictionary;
+import io.smanicome.bank_account.persistence.OperationCursor;
+import io.smanicome.bank_account.persistence.OperationPage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class JournalBankOperationRepository implements BankOperationRepository, Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final Journal journal;
+    private final LabelDictionary labels;
+    private final Map<UUID, ClientHead> clients = new ConcurrentHashMap<>();
+
+    private JournalBankOperationRepository(Journal journal, LabelDictionary labels) {
+        this.journal = journal;
+        this.labels = labels;
+    }
+
+    public static JournalBankOperationRepository open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static JournalBankOperationRepository open(Path directory, int segmentSize) throws IOException {
+        return open(directory, segmentSize, new LabelDictionary());
+    }
+
+    public static JournalBankOperationRepository open(Path directory, int segmentSize, LabelDictionary labels) throws IOException {
+        final var repository = new JournalBankOperationRepository(Journal.open(directory, segmentSize), labels);
+
+        long replayFrom = 0;
+        final Optional<JournalCheckpoint> checkpoint = JournalCheckpoint.loadNewest(directory);
+        if(checkpoint.isPresent()) {
+            for(JournalCheckpoint.Entry entry : checkpoint.get().entries()) {
+                repository.clients.put(entry.clientId(), new ClientHead(entry.position(), null, entry.balance(), entry.latestDate(), entry.dateOrdered()));
+            }
+            replayFrom = checkpoint.get().journalPosition();
+        }
+
+        repository.journal.recover(replayFrom, repository::index);
+        return repository;
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        return saveAll(List.of(operation)).get(0);
+    }
+
+    @Override
+    public synchronized List<BankOperation> saveAll(List<BankOperation> operations) {
+        final List<BankOperation> saved = new ArrayList<>(operations.size());
+        final Map<UUID, ClientHead> heads = new HashMap<>();
+        final long batchStart = journal.writePosition();
+
+        try {
+            for(int i = 0; i < operations.size(); i++) {
+                final BankOperation operation = withId(operations.get(i));
+                labels.idOf(operation.label());
+                final ClientHead head = heads.containsKey(operation.clientId()) ? heads.get(operation.clientId()) : clients.get(operation.clientId());
+                final byte flags = i < operations.size() - 1 ? JournalRecord.FLAG_BATCH_CONTINUES : 0;
+
+                final long position = journal.append(JournalRecord.encode(operation, head == null ? JournalRecord.NO_POSITION : head.position(), flags));
+                heads.put(operation.clientId(), ClientHead.advance(head, position, operation.balance().toMinorUnits(), operation.date(), operation));
+                saved.add(operation);
+            }
+        } catch (IOException | RuntimeException e) {
+            rollback(batchStart, e);
+        }
+
+        clients.putAll(heads);
+        return saved;
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null) return Optional.empty();
+            if(head.latest() != null) return Optional.of(head.latest());
+
+            final BankOperation latest = JournalRecord.decode(journal.read(head.position()), labels);
+            clients.replace(clientId, head, head.withLatest(latest));
+            return Optional.of(latest);
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null) return List.of();
+            return history(head);
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null || !from.isBefore(to)) return List.of();
+            if(!head.dateOrdered()) return DateOrderedOperations.between(history(head), from, to);
+
+            final List<BankOperation> operations = new ArrayList<>();
+            for(long position = head.position(); position != JournalRecord.NO_POSITION; ) {
+                final ByteBuffer record = journal.read(position);
+                final LocalDateTime date = JournalRecord.date(record);
+                if(date.isBefore(from)) break;
+                if(date.isBefore(to)) {
+                    operations.add(JournalRecord.decode(record, labels));
+                }
+                position = JournalRecord.previousPosition(record);
+            }
+            return reversed(operations);
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null) return OperationPage.empty();
+            if(!head.dateOrdered()) {
+                final List<BankOperation> history = history(head);
+                return DateOrderedOperations.pageEndingAt(history, history.size(), limit);
+            }
+
+            return pageFrom(head.position(), limit);
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null) return OperationPage.empty();
+            if(!head.dateOrdered()) {
+                final List<BankOperation> history = history(head);
+                return DateOrderedOperations.pageEndingAt(history, DateOrderedOperations.indexOf(history, cursor), limit);
+            }
+
+            long position = head.position();
+            while(position != JournalRecord.NO_POSITION) {
+                final ByteBuffer record = journal.read(position);
+                if(JournalRecord.hasId(record, cursor.operationId())) {
+                    position = JournalRecord.previousPosition(record);
+                    break;
+                }
+                if(JournalRecord.date(record).isBefore(cursor.date())) break;
+                position = JournalRecord.previousPosition(record);
+            }
+            return pageFrom(position, limit);
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    @Override
+    public Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        journal.beginRead();
+        try {
+            final ClientHead head = clients.get(clientId);
+            if(head == null) return Amount.ZERO;
+            if(!head.dateOrdered()) return DateOrderedOperations.balanceAt(history(head), date);
+
+            long balance = 0;
+            if(!head.latestDate().isAfter(date)) {
+                balance = head.balance();
+            } else {
+                for(long position = head.position(); position != JournalRecord.NO_POSITION; ) {
+                    final ByteBuffer record = journal.read(position);
+                    if(!JournalRecord.date(record).isAfter(date)) {
+                        balance = JournalRecord.balance(record);
+                        break;
+                    }
+                    position = JournalRecord.previousPosition(record);
+                }
+            }
+
+            try {
+                return Amount.ofMinorUnits(balance);
+            } catch (NegativeAmountException e) {
+                throw new AssertionError(e);
+            }
+        } finally {
+            journal.endRead();
+        }
+    }
+
+    public Optional<Amount> findLatestBalance(UUID clientId) {
+        final ClientHead head = clients.get(clientId);
+        if(head == null) return Optional.empty();
+
+        try {
+            return Optional.of(Amount.ofMinorUnits(head.balance()));
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void checkpoint() {
+        final long journalPosition;
+        final List<JournalCheckpoint.Entry> entries;
+        synchronized (this) {
+            journal.force();
+            journalPosition = journal.writePosition();
+            entries = new ArrayList<>(clients.size());
+            clients.forEach((clientId, head) -> entries.add(new JournalCheckpoint.Entry(clientId, head.position(), head.balance(), head.latestDate(), head.dateOrdered())));
+        }
+
+        try {
+            new JournalCheckpoint(journalPosition, entries).writeTo(journal.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public ScheduledFuture<?> scheduleCheckpoints(ScheduledExecutorService scheduler, Duration interval) {
+        return scheduler.scheduleWithFixedDelay(this::checkpoint, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void force() {
+        synchronized (this) {
+            journal.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            journal.close();
+        }
+    }
+
+    private OperationPage pageFrom(long position, int limit) {
+        if(limit <= 0) throw new IllegalArgumentException("limit must be positive");
+
+        final List<BankOperation> operations = new ArrayList<>(limit);
+        while(position != JournalRecord.NO_POSITION && operations.size() < limit) {
+            final ByteBuffer record = journal.read(position);
+            operations.add(JournalRecord.decode(record, labels));
+            position = JournalRecord.previousPosition(record);
+        }
+        if(operations.isEmpty()) return OperationPage.empty();
+
+        final List<BankOperation> page = reversed(operations);
+        final Optional<OperationCursor> next = position == JournalRecord.NO_POSITION
+                ? Optional.empty()
+                : Optional.of(DateOrderedOperations.cursorOf(page.get(0)));
+        return new OperationPage(page, next);
+    }
+
+    private List<BankOperation> history(ClientHead head) {
+        final List<BankOperation> operations = new ArrayList<>();
+        for(long position = head.position(); position != JournalRecord.NO_POSITION; ) {
+            final ByteBuffer record = journal.read(position);
+            operations.add(JournalRecord.decode(record, labels));
+            position = JournalRecord.previousPosition(record);
+        }
+
+        Collections.reverse(operations);
+        if(!head.dateOrdered()) {
+            operations.sort(Comparator.comparing(BankOperation::date));
+        }
+        return Collections.unmodifiableList(operations);
+    }
+
+    private void index(long position, ByteBuffer record) {
+        final UUID clientId = JournalRecord.clientId(record);
+        clients.put(clientId, ClientHead.advance(clients.get(clientId), position, JournalRecord.balance(record), JournalRecord.date(record), null));
+    }
+
+    private void rollback(long batchStart, Exception cause) {
+        try {
+            journal.rollback(batchStart);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+        if(cause instanceof IOException ioException) throw new UncheckedIOException(ioException);
+        throw (RuntimeException) cause;
+    }
+
+    private static BankOperation withId(BankOperation operation) {
+        if(operation.id() != null) return operation;
+        return new BankOperation(UUID.randomUUID(), operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), operation.date(), operation.label());
+    }
+
+    private static List<BankOperation> reversed(List<BankOperation> operations) {
+        Collections.reverse(operations);
+        return Collections.unmodifiableList(operations);
+    }
+
+    private record ClientHead(long position, BankOperation latest, long balance, LocalDateTime latestDate, boolean dateOrdered) {
+        static ClientHead advance(ClientHead previous, long position, long balance, LocalDateTime date, BankOperation operation) {
+            final boolean dateOrdered = previous == null || (previous.dateOrdered() && !previous.latestDate().isAfter(date));
+            return new ClientHead(position, operation, balance, date, dateOrdered);
+        }
+
+        ClientHead withLatest(BankOperation operation) {
+            return new ClientHead(position, operation, balance, latestDate, dateOrdered);
+        }
+    }
+}
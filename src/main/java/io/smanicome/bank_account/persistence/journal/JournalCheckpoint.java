@@ -0,0 +1,114 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+record JournalCheckpoint(long journalPosition, List<Entry> entries) {
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".chk";
+    private static final int MAGIC = 0x4A434B50;
+    private static final int VERSION = 1;
+    private static final int RETAINED_CHECKPOINTS = 2;
+
+    record Entry(UUID clientId, long position, long balance, LocalDateTime latestDate, boolean dateOrdered) {
+    }
+
+    void writeTo(Path directory) throws IOException {
+        final Path target = directory.resolve(String.format("%s%016x%s", PREFIX, journalPosition, SUFFIX));
+        final Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+        final CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)), new CRC32C());
+        try(DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(journalPosition);
+            out.writeInt(entries.size());
+            for(Entry entry : entries) {
+                out.writeLong(entry.clientId().getMostSignificantBits());
+                out.writeLong(entry.clientId().getLeastSignificantBits());
+                out.writeLong(entry.position());
+                out.writeLong(entry.balance());
+                out.writeLong(entry.latestDate().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(entry.latestDate().getNano());
+                out.writeBoolean(entry.dateOrdered());
+            }
+            out.writeInt((int) checked.getChecksum().getValue());
+        }
+        try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        deleteOlderThan(directory, RETAINED_CHECKPOINTS);
+    }
+
+    static Optional<JournalCheckpoint> loadNewest(Path directory) throws IOException {
+        for(Path path : checkpointFiles(directory)) {
+            final Optional<JournalCheckpoint> checkpoint = read(path);
+            if(checkpoint.isPresent()) return checkpoint;
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<JournalCheckpoint> read(Path path) throws IOException {
+        final CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), new CRC32C());
+        try(DataInputStream in = new DataInputStream(checked)) {
+            if(in.readInt() != MAGIC || in.readInt() != VERSION) return Optional.empty();
+
+            final long journalPosition = in.readLong();
+            final int count = in.readInt();
+            final List<Entry> entries = new ArrayList<>(count);
+            for(int i = 0; i < count; i++) {
+                entries.add(new Entry(
+                        new UUID(in.readLong(), in.readLong()),
+                        in.readLong(),
+                        in.readLong(),
+                        LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC),
+                        in.readBoolean()
+                ));
+            }
+
+            final int expectedChecksum = (int) checked.getChecksum().getValue();
+            if(in.readInt() != expectedChecksum) return Optional.empty();
+            return Optional.of(new JournalCheckpoint(journalPosition, entries));
+        } catch (EOFException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void deleteOlderThan(Path directory, int retained) throws IOException {
+        final List<Path> files = checkpointFiles(directory);
+        for(int i = retained; i < files.size(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static List<Path> checkpointFiles(Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX) && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.LabelDictionary;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+final class JournalRecord {
+    static final byte FLAG_BATCH_CONTINUES = 1;
+    static final byte FLAG_NO_LABEL = 2;
+
+    static final int LENGTH_OFFSET = 0;
+    static final int CHECKSUM_OFFSET = 4;
+    static final int PREVIOUS_POSITION_OFFSET = 8;
+    static final int ID_OFFSET = 16;
+    static final int CLIENT_ID_OFFSET = 32;
+    static final int OPERATION_TYPE_OFFSET = 48;
+    static final int FLAGS_OFFSET = 49;
+    static final int LABEL_LENGTH_OFFSET = 50;
+    static final int AMOUNT_OFFSET = 52;
+    static final int BALANCE_OFFSET = 60;
+    static final int EPOCH_SECOND_OFFSET = 68;
+    static final int NANO_OFFSET = 76;
+    static final int HEADER_LENGTH = 80;
+
+    static final long NO_POSITION = -1;
+    private static final int ALIGNMENT = 8;
+    private static final int MAX_LABEL_LENGTH = 0xFFFF;
+    private static final BankOperation.OperationType[] OPERATION_TYPES = BankOperation.OperationType.values();
+
+    private JournalRecord() {
+    }
+
+    static void validate(BankOperation operation) {
+        labelBytes(operation);
+    }
+
+    static ByteBuffer encode(BankOperation operation, long previousPosition, byte flags) {
+        final byte[] label = labelBytes(operation);
+
+        final int length = align(HEADER_LENGTH + label.length);
+        final ByteBuffer record = ByteBuffer.allocate(length);
+        final LocalDateTime date = operation.date();
+
+        record.putInt(LENGTH_OFFSET, length)
+                .putLong(PREVIOUS_POSITION_OFFSET, previousPosition)
+                .putLong(ID_OFFSET, operation.id().getMostSignificantBits())
+                .putLong(ID_OFFSET + 8, operation.id().getLeastSignificantBits())
+                .putLong(CLIENT_ID_OFFSET, operation.clientId().getMostSignificantBits())
+                .putLong(CLIENT_ID_OFFSET + 8, operation.clientId().getLeastSignificantBits())
+                .put(OPERATION_TYPE_OFFSET, (byte) operation.operationType().ordinal())
+                .put(FLAGS_OFFSET, operation.label() == null ? (byte) (flags | FLAG_NO_LABEL) : flags)
+                .putShort(LABEL_LENGTH_OFFSET, (short) label.length)
+                .putLong(AMOUNT_OFFSET, operation.amount().toMinorUnits())
+                .putLong(BALANCE_OFFSET, operation.balance().toMinorUnits())
+                .putLong(EPOCH_SECOND_OFFSET, date.toEpochSecond(ZoneOffset.UTC))
+                .putInt(NANO_OFFSET, date.getNano())
+                .put(HEADER_LENGTH, label);
+        record.putInt(CHECKSUM_OFFSET, checksum(record, length));
+        return record;
+    }
+
+    static boolean isValid(ByteBuffer segment, int offset, int remaining) {
+        if(remaining < HEADER_LENGTH) return false;
+
+        final int length = segment.getInt(offset + LENGTH_OFFSET);
+        if(length < HEADER_LENGTH || length > remaining || length % ALIGNMENT != 0) return false;
+
+        final ByteBuffer record = segment.slice(offset, length);
+        final int labelLength = Short.toUnsignedInt(record.getShort(LABEL_LENGTH_OFFSET));
+        if(align(HEADER_LENGTH + labelLength) != length) return false;
+
+        return record.getInt(CHECKSUM_OFFSET) == checksum(record, length);
+    }
+
+    static long previousPosition(ByteBuffer record) {
+        return record.getLong(PREVIOUS_POSITION_OFFSET);
+    }
+
+    static byte flags(ByteBuffer record) {
+        return record.get(FLAGS_OFFSET);
+    }
+
+    static boolean hasId(ByteBuffer record, UUID id) {
+        return record.getLong(ID_OFFSET) == id.getMostSignificantBits()
+                && record.getLong(ID_OFFSET + 8) == id.getLeastSignificantBits();
+    }
+
+    static UUID clientId(ByteBuffer record) {
+        return new UUID(record.getLong(CLIENT_ID_OFFSET), record.getLong(CLIENT_ID_OFFSET + 8));
+    }
+
+    static long balance(ByteBuffer record) {
+        return record.getLong(BALANCE_OFFSET);
+    }
+
+    static LocalDateTime date(ByteBuffer record) {
+        return LocalDateTime.ofEpochSecond(record.getLong(EPOCH_SECOND_OFFSET), record.getInt(NANO_OFFSET), ZoneOffset.UTC);
+    }
+
+    static BankOperation decode(ByteBuffer record, LabelDictionary labels) {
+        final byte[] label = new byte[Short.toUnsignedInt(record.getShort(LABEL_LENGTH_OFFSET))];
+        record.get(HEADER_LENGTH, label);
+
+        try {
+            return new BankOperation(
+                    new UUID(record.getLong(ID_OFFSET), record.getLong(ID_OFFSET + 8)),
+                    clientId(record),
+                    OPERATION_TYPES[record.get(OPERATION_TYPE_OFFSET)],
+                    Amount.ofMinorUnits(record.getLong(AMOUNT_OFFSET)),
+                    Amount.ofMinorUnits(record.getLong(BALANCE_OFFSET)),
+                    date(record),
+                    (flags(record) & FLAG_NO_LABEL) != 0 ? null : labels.lookupCanonical(new String(label, StandardCharsets.UTF_8))
+            );
+        } catch (NegativeAmountException e) {
+            throw new IllegalStateException("corrupted journal record", e);
+        }
+    }
+
+    private static byte[] labelBytes(BankOperation operation) {
+        final byte[] label = operation.label() == null ? new byte[0] : operation.label().getBytes(StandardCharsets.UTF_8);
+        if(label.length > MAX_LABEL_LENGTH) throw new IllegalArgumentException("label is too long to be journaled");
+        return label;
+    }
+
+    private static int checksum(ByteBuffer record, int length) {
+        final CRC32C crc = new CRC32C();
+        crc.update(record.slice(PREVIOUS_POSITION_OFFSET, length - PREVIOUS_POSITION_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,8 @@
+package io.smanicome.bank_account.persistence.rollup;
+
+import io.smanicome.bank_account.Amount;
+
+import java.time.LocalDate;
+
+public record DailyRollup(LocalDate date, long operationCount, Amount deposits, Amount withdrawals, Amount closingBalance) {
+}
@@ -0,0 +1,148 @@
+package io.smanicome.bank_account.persistence.rollup;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.OperationCursor;
+import io.smanicome.bank_account.persistence.OperationPage;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+public class RollupBankOperationRepository implements BankOperationRepository {
+    private final BankOperationRepository delegate;
+    private final Map<UUID, NavigableMap<LocalDate, DayTotals>> rollups = new ConcurrentHashMap<>();
+
+    public RollupBankOperationRepository(BankOperationRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    public void rebuild(Stream<UUID> clientIds) {
+        clientIds.forEach(clientId -> {
+            final NavigableMap<LocalDate, DayTotals> days = new ConcurrentSkipListMap<>();
+            for(BankOperation operation : delegate.findByAccountId(clientId)) {
+                days.merge(operation.date().toLocalDate(), DayTotals.of(operation), DayTotals::plus);
+            }
+            rollups.put(clientId, days);
+        });
+    }
+
+    @Override
+    public BankOperation save(BankOperation operation) {
+        final BankOperation saved = delegate.save(operation);
+        index(saved);
+        return saved;
+    }
+
+    @Override
+    public List<BankOperation> saveAll(List<BankOperation> operations) {
+        final List<BankOperation> saved = delegate.saveAll(operations);
+        saved.forEach(this::index);
+        return saved;
+    }
+
+    @Override
+    public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+        return delegate.findLatestOperationByClientId(clientId);
+    }
+
+    @Override
+    public List<BankOperation> findByAccountId(UUID clientId) {
+        return delegate.findByAccountId(clientId);
+    }
+
+    @Override
+    public List<BankOperation> findByAccountIdBetween(UUID clientId, LocalDateTime from, LocalDateTime to) {
+        return delegate.findByAccountIdBetween(clientId, from, to);
+    }
+
+    @Override
+    public OperationPage findLatestOperations(UUID clientId, int limit) {
+        return delegate.findLatestOperations(clientId, limit);
+    }
+
+    @Override
+    public OperationPage findOperationsBefore(UUID clientId, OperationCursor cursor, int limit) {
+        return delegate.findOperationsBefore(clientId, cursor, limit);
+    }
+
+    @Override
+    public Amount findBalanceAt(UUID clientId, LocalDateTime date) {
+        return delegate.findBalanceAt(clientId, date);
+    }
+
+    public List<DailyRollup> findDailyRollups(UUID clientId, LocalDate from, LocalDate to) {
+        final NavigableMap<LocalDate, DayTotals> days = rollups.get(clientId);
+        if(days == null || !from.isBefore(to)) return List.of();
+
+        final List<DailyRollup> daily = new ArrayList<>();
+        days.subMap(from, true, to, false).forEach((date, totals) -> daily.add(new DailyRollup(
+                date,
+                totals.operationCount(),
+                amount(totals.deposits()),
+                amount(totals.withdrawals()),
+                amount(totals.closingBalance()))));
+        return daily;
+    }
+
+    public PeriodRollup summarize(UUID clientId, LocalDate from, LocalDate to) {
+        final NavigableMap<LocalDate, DayTotals> days = rollups.get(clientId);
+        if(days == null || !from.isBefore(to)) return new PeriodRollup(from, to, 0, Amount.ZERO, Amount.ZERO, Amount.ZERO);
+
+        long operationCount = 0;
+        long deposits = 0;
+        long withdrawals = 0;
+        for(DayTotals totals : days.subMap(from, true, to, false).values()) {
+            operationCount += totals.operationCount();
+            deposits = Math.addExact(deposits, totals.deposits());
+            withdrawals = Math.addExact(withdrawals, totals.withdrawals());
+        }
+
+        final Map.Entry<LocalDate, DayTotals> closingDay = days.lowerEntry(to);
+        final long closingBalance = closingDay == null ? 0 : closingDay.getValue().closingBalance();
+        return new PeriodRollup(from, to, operationCount, amount(deposits), amount(withdrawals), amount(closingBalance));
+    }
+
+    private void index(BankOperation operation) {
+        rollups.computeIfAbsent(operation.clientId(), clientId -> new ConcurrentSkipListMap<>())
+                .merge(operation.date().toLocalDate(), DayTotals.of(operation), DayTotals::plus);
+    }
+
+    private static Amount amount(long minorUnits) {
+        try {
+            return Amount.ofMinorUnits(minorUnits);
+        } catch (NegativeAmountException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private record DayTotals(long operationCount, long deposits, long withdrawals, long closingBalance, LocalDateTime closingAt) {
+        static DayTotals of(BankOperation operation) {
+            final long amount = operation.amount().toMinorUnits();
+            return switch (operation.operationType()) {
+                case DEPOSIT -> new DayTotals(1, amount, 0, operation.balance().toMinorUnits(), operation.date());
+                case WITHDRAWAL -> new DayTotals(1, 0, amount, operation.balance().toMinorUnits(), operation.date());
+            };
+        }
+
+        DayTotals plus(DayTotals later) {
+            final boolean laterCloses = !later.closingAt().isBefore(closingAt);
+            return new DayTotals(
+                    operationCount + later.operationCount(),
+                    Math.addExact(deposits, later.deposits()),
+                    Math.addExact(withdrawals, later.withdrawals()),
+                    laterCloses ? later.closingBalance() : closingBalance,
+                    laterCloses ? later.closingAt() : closingAt);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+public class IncrementalStatementFormatter implements StatementFormatter, StreamingStatementFormatter {
+    private final TabularStatementFormatter tabularFormatter;
+    private final long maximumCachedRows;
+    private final Map<UUID, RenderedRows> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder renderedRows = new LongAdder();
+    private long cachedRows;
+
+    public IncrementalStatementFormatter(TabularStatementFormatter tabularFormatter, long maximumCachedRows) {
+        if(maximumCachedRows < 0) throw new IllegalArgumentException("maximum cached rows must not be negative");
+
+        this.tabularFormatter = tabularFormatter;
+        this.maximumCachedRows = maximumCachedRows;
+    }
+
+    @Override
+    public List<String> format(Statement statement) {
+        final var lines = new ArrayList<String>();
+        try {
+            render(statement, line -> lines.add(line.toString()));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return lines;
+    }
+
+    @Override
+    public void format(Statement statement, Appendable out) throws IOException {
+        final String lineSeparator = System.lineSeparator();
+        render(statement, line -> out.append(line).append(lineSeparator));
+    }
+
+    public long renderedRows() {
+        return renderedRows.sum();
+    }
+
+    public synchronized long cachedRows() {
+        return cachedRows;
+    }
+
+    public synchronized void invalidate(UUID accountId) {
+        final RenderedRows removed = cache.remove(accountId);
+        if(removed != null) cachedRows -= removed.count();
+    }
+
+    private void render(Statement statement, TabularStatementFormatter.LineSink sink) throws IOException {
+        final List<BankOperation> operations = statement.bankOperations();
+        final RenderedRows rows = rowsFor(statement.accountId(), operations);
+        if(rows == null) {
+            renderedRows.add(operations.size());
+            tabularFormatter.render(statement, sink);
+            return;
+        }
+
+        final Amount balance = rows.count() == 0 ? Amount.ZERO : operations.get(rows.lastRunStart()).balance();
+        tabularFormatter.render(statement.accountId(), statement.date(), balance, rows.count() > 0, rows::writeTo, sink);
+    }
+
+    private RenderedRows rowsFor(UUID accountId, List<BankOperation> operations) {
+        if(!(operations instanceof RandomAccess)) return null;
+
+        final RenderedRows cached = lookup(accountId);
+        final RenderedRows base = cached != null && cached.isPrefixOf(operations) ? cached : RenderedRows.EMPTY;
+        for(int i = Math.max(1, base.count()); i < operations.size(); i++) {
+            if(operations.get(i - 1).date().isAfter(operations.get(i).date())) return null;
+        }
+        if(base.count() == operations.size()) return base;
+
+        final RenderedRows extended = base.extend(operations);
+        renderedRows.add(operations.size() - base.count());
+        store(accountId, extended);
+        return extended;
+    }
+
+    private synchronized RenderedRows lookup(UUID accountId) {
+        return cache.get(accountId);
+    }
+
+    private synchronized void store(UUID accountId, RenderedRows rows) {
+        if(rows.count() > maximumCachedRows) {
+            invalidate(accountId);
+            return;
+        }
+
+        final RenderedRows previous = cache.put(accountId, rows);
+        cachedRows += rows.count() - (previous == null ? 0 : previous.count());
+
+        final Iterator<RenderedRows> eldest = cache.values().iterator();
+        while(cachedRows > maximumCachedRows && eldest.hasNext()) {
+            cachedRows -= eldest.next().count();
+            eldest.remove();
+        }
+    }
+
+    private record RenderedRows(String[] rows, boolean[] sameDateAsPrevious, int count, BankOperation first, BankOperation last, int lastRunStart) {
+        static final RenderedRows EMPTY = new RenderedRows(new String[0], new boolean[0], 0, null, null, 0);
+
+        boolean isPrefixOf(List<BankOperation> operations) {
+            if(count == 0) return true;
+            if(count > operations.size()) return false;
+            return last.equals(operations.get(count - 1)) && first.equals(operations.get(0));
+        }
+
+        RenderedRows extend(List<BankOperation> operations) {
+            final int size = operations.size();
+            final String[] extendedRows = Arrays.copyOf(rows, size);
+            final boolean[] extendedSameDate = Arrays.copyOf(sameDateAsPrevious, size);
+            final var rowRenderer = new TabularStatementFormatter.RowRenderer();
+
+            int runStart = lastRunStart;
+            for(int i = count; i < size; i++) {
+                final BankOperation operation = operations.get(i);
+                extendedRows[i] = rowRenderer.render(operation).toString();
+                extendedSameDate[i] = i > 0 && operations.get(i - 1).date().equals(operation.date());
+                if(!extendedSameDate[i]) runStart = i;
+            }
+            return new RenderedRows(extendedRows, extendedSameDate, size, operations.get(0), operations.get(size - 1), runStart);
+        }
+
+        void writeTo(TabularStatementFormatter.LineSink sink) throws IOException {
+            int runEnd = count;
+            while(runEnd > 0) {
+                int runStart = runEnd - 1;
+                while(sameDateAsPrevious[runStart]) {
+                    runStart--;
+                }
+                for(int i = runStart; i < runEnd; i++) {
+                    sink.accept(rows[i]);
+                }
+                runEnd = runStart;
+            }
+        }
+    }
+}
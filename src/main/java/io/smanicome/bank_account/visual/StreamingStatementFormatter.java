@@ -0,0 +1,9 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Statement;
+
+import java.io.IOException;
+
+public interface StreamingStatementFormatter {
+    void format(Statement statement, Appendable out) throws IOException;
+}
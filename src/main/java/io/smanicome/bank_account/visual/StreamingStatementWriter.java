@@ -0,0 +1,36 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Statement;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+
+public class StreamingStatementWriter implements StatementWriter {
+    private final StreamingStatementFormatter statementFormatter;
+    private final Appendable out;
+
+    public StreamingStatementWriter(StreamingStatementFormatter statementFormatter, Appendable out) {
+        this.statementFormatter = statementFormatter;
+        this.out = out;
+    }
+
+    public static StreamingStatementWriter toChannel(StreamingStatementFormatter statementFormatter, WritableByteChannel channel, Charset charset) {
+        return new StreamingStatementWriter(statementFormatter, Channels.newWriter(channel, charset));
+    }
+
+    @Override
+    public void write(Statement statement) {
+        try {
+            statementFormatter.format(statement, out);
+            if(out instanceof Flushable flushable) {
+                flushable.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
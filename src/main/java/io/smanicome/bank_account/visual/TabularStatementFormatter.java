@@ -4,109 +4,264 @@ import io.smanicome.bank_account.Amount;
 import io.smanicome.bank_account.BankOperation;
 import io.smanicome.bank_account.Statement;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.RandomAccess;
+import java.util.UUID;
 
-public class TabularStatementFormatter implements StatementFormatter {
+public class TabularStatementFormatter implements StatementFormatter, StreamingStatementFormatter {
     private static final String COLUMN_SEPARATOR = " | ";
     private static final String DATE_FORMAT_PATTERN = "dd-MM-yyyy HH:mm:ss";
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT_PATTERN);
     private static final int OPERATION_TYPE_LENGTH = 10;
     private static final int DATE_TIME_LENGTH = DATE_FORMAT_PATTERN.length();
     private static final int AMOUNT_LENGTH = 24;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
 
     private static final int LINE_LENGTH = OPERATION_TYPE_LENGTH + DATE_TIME_LENGTH + AMOUNT_LENGTH + COLUMN_SEPARATOR.length() * 2;
+    private static final int FRAMED_LINE_LENGTH = LINE_LENGTH + 4;
+
+    private static final String SPACES = " ".repeat(LINE_LENGTH);
+    private static final String FRAMED_SEPARATOR = addFrameSides("-".repeat(LINE_LENGTH));
+    private static final String FRAMED_OPERATIONS_HEADER = addFrameSides(buildOperationsHeader());
+    private static final String[] PADDED_OPERATION_TYPES = buildPaddedOperationTypes();
 
     @Override
     public List<String> format(Statement statement) {
+        final var lines = new ArrayList<String>();
+        try {
+            render(statement, line -> lines.add(line.toString()));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return lines;
+    }
 
-        final var lines = new ArrayList<>(buildHeaders(statement));
-        lines.add(addFrameSides(separator()));
+    @Override
+    public void format(Statement statement, Appendable out) throws IOException {
+        render(statement, line -> out.append(line).append(LINE_SEPARATOR));
+    }
 
-        if(!statement.bankOperations().isEmpty()) {
-            lines.add(addFrameSides(buildOperationsHeader()));
+    void render(Statement statement, LineSink sink) throws IOException {
+        final List<BankOperation> operations = statement.bankOperations();
+        final boolean sortedByDate = isSortedByDate(operations);
+        final Amount balance = getStatementBalance(operations, sortedByDate);
 
-            lines.add(addFrameSides(separator()));
-            lines.addAll(buildFormattedOperationsWithSeparators(statement));
-            lines.add(addFrameSides(separator()));
-        }
-
-        return lines;
+        render(statement.accountId(), statement.date(), balance, !operations.isEmpty(), rowSink -> writeFormattedOperations(operations, sortedByDate, rowSink), sink);
     }
 
-    private String separator() {
-        return "-".repeat(LINE_LENGTH);
+    void render(UUID accountId, LocalDateTime date, Amount balance, boolean hasOperations, RowWriter rows, LineSink sink) throws IOException {
+        writeHeaders(accountId, date, balance, sink);
+        sink.accept(FRAMED_SEPARATOR);
+
+        if(hasOperations) {
+            sink.accept(FRAMED_OPERATIONS_HEADER);
+
+            sink.accept(FRAMED_SEPARATOR);
+            rows.writeTo(sink);
+            sink.accept(FRAMED_SEPARATOR);
+        }
     }
 
-    private List<String> buildHeaders(Statement statement) {
-        final var title = "STATEMENT OF ACCOUNT N°" + statement.accountId();
-        final var statementDate = statement.date().format(FORMATTER);
-        final var balance = "BALANCE " + getStatementBalance(statement).toCurrencyString();
+    private void writeHeaders(UUID accountId, LocalDateTime date, Amount statementBalance, LineSink sink) throws IOException {
+        final var title = "STATEMENT OF ACCOUNT N°" + accountId;
+        final var statementDate = date.format(FORMATTER);
+        final var balance = "BALANCE " + statementBalance.toCurrencyString();
 
-        return Stream.of(separator(), title, statementDate, balance)
-                .map(s -> center(s, LINE_LENGTH))
-                .map(this::addFrameSides)
-                .toList();
+        sink.accept(FRAMED_SEPARATOR);
+        sink.accept(addFrameSides(center(title, LINE_LENGTH)));
+        sink.accept(addFrameSides(center(statementDate, LINE_LENGTH)));
+        sink.accept(addFrameSides(center(balance, LINE_LENGTH)));
     }
 
-    private Amount getStatementBalance(Statement statement) {
-        return statement.bankOperations()
+    private Amount getStatementBalance(List<BankOperation> operations, boolean sortedByDate) {
+        if(operations.isEmpty()) return Amount.ZERO;
+        if(sortedByDate) return operations.get(startOfDateRun(operations, operations.size())).balance();
+
+        return operations
             .stream()
             .max(Comparator.comparing(BankOperation::date))
             .map(BankOperation::balance)
             .orElse(Amount.ZERO);
     }
 
-    private String buildOperationsHeader() {
-        final var typeHeader = String.format("%-" + OPERATION_TYPE_LENGTH + "s", "TYPE");
+    private static String buildOperationsHeader() {
+        final var typeHeader = padRight("TYPE", OPERATION_TYPE_LENGTH);
 
         final var dateHeader = center("DATE", DATE_TIME_LENGTH);
 
-        final var amountHeader = String.format("%" + AMOUNT_LENGTH + "s", "AMOUNT");
+        final var amountHeader = padLeft("AMOUNT", AMOUNT_LENGTH);
 
         return String.join(COLUMN_SEPARATOR, List.of(typeHeader, dateHeader, amountHeader));
     }
 
-    private List<String> buildFormattedOperationsWithSeparators(Statement statement) {
-        return statement.bankOperations().stream()
-                .sorted((a, b) -> b.date().compareTo(a.date()))
-                .map(this::formatOperation)
-                .map(formattedOperation -> formattedOperation.collect(Collectors.joining(COLUMN_SEPARATOR)))
-                .map(this::addFrameSides)
-                .toList();
+    private static String[] buildPaddedOperationTypes() {
+        final var operationTypes = BankOperation.OperationType.values();
+        final var paddedOperationTypes = new String[operationTypes.length];
+        for(BankOperation.OperationType operationType : operationTypes) {
+            paddedOperationTypes[operationType.ordinal()] = padRight(operationType.name(), OPERATION_TYPE_LENGTH);
+        }
+        return paddedOperationTypes;
     }
 
-    private Stream<String> formatOperation(BankOperation operation) {
-        final var operationType = operation.operationType().name();
-        final var formattedOperationType = String.format("%-" + OPERATION_TYPE_LENGTH + "s", operationType);
+    private void writeFormattedOperations(List<BankOperation> operations, boolean sortedByDate, LineSink sink) throws IOException {
+        final var rowRenderer = new RowRenderer();
+
+        if(!sortedByDate) {
+            final List<BankOperation> sortedOperations = operations.stream()
+                    .sorted((a, b) -> b.date().compareTo(a.date()))
+                    .toList();
+            for(BankOperation operation : sortedOperations) {
+                sink.accept(rowRenderer.render(operation));
+            }
+            return;
+        }
+
+        int runEnd = operations.size();
+        while(runEnd > 0) {
+            final int runStart = startOfDateRun(operations, runEnd);
+            for(int i = runStart; i < runEnd; i++) {
+                sink.accept(rowRenderer.render(operations.get(i)));
+            }
+            runEnd = runStart;
+        }
+    }
 
-        final var date = operation.date().format(FORMATTER);
-        final var formattedDate = center(date, DATE_TIME_LENGTH);
+    private boolean isSortedByDate(List<BankOperation> operations) {
+        if(!(operations instanceof RandomAccess)) return false;
 
-        final var amount = operation.amount().toCurrencyString();
-        final var formattedAmount = String.format("%" + AMOUNT_LENGTH + "s", amount);
+        for(int i = 1; i < operations.size(); i++) {
+            if(operations.get(i - 1).date().compareTo(operations.get(i).date()) > 0) return false;
+        }
+        return true;
+    }
 
-        return Stream.of(formattedOperationType, formattedDate, formattedAmount);
+    private int startOfDateRun(List<BankOperation> operations, int runEnd) {
+        final var date = operations.get(runEnd - 1).date();
+        int runStart = runEnd - 1;
+        while(runStart > 0 && operations.get(runStart - 1).date().compareTo(date) == 0) {
+            runStart--;
+        }
+        return runStart;
     }
 
-    private String center(String value, int length) {
+    private static String center(String value, int length) {
         if(value.length() >= length) return value;
 
         var remainingSpace = length - value.length();
-        if(remainingSpace % 2 == 1) {
+        final var odd = remainingSpace % 2 == 1;
+        if(odd) {
             remainingSpace ++;
-            value += " ";
         }
 
-        final var leftPaddedString = String.format("%" + ((remainingSpace / 2) + value.length()) + "s", value);
-        return String.format("%-" + length + "s", leftPaddedString);
+        final var leftPadding = remainingSpace / 2;
+        final var centeredLength = leftPadding + value.length() + (odd ? 1 : 0);
+        final var rightPadding = Math.max(0, length - centeredLength) + (odd ? 1 : 0);
+
+        return SPACES.substring(0, leftPadding) + value + SPACES.substring(0, rightPadding);
     }
 
-    private String addFrameSides(String value) {
+    private static String padRight(String value, int length) {
+        if(value.length() >= length) return value;
+        return value + SPACES.substring(0, length - value.length());
+    }
+
+    private static String padLeft(String value, int length) {
+        if(value.length() >= length) return value;
+        return SPACES.substring(0, length - value.length()) + value;
+    }
+
+    private static String addFrameSides(String value) {
         return "| " + value + " |";
     }
+
+    interface LineSink {
+        void accept(CharSequence line) throws IOException;
+    }
+
+    interface RowWriter {
+        void writeTo(LineSink sink) throws IOException;
+    }
+
+    static final class RowRenderer {
+        private final StringBuilder line = new StringBuilder(FRAMED_LINE_LENGTH);
+        private final char[] renderedDate = new char[DATE_TIME_LENGTH];
+        private LocalDateTime renderedDateSource;
+
+        CharSequence render(BankOperation operation) {
+            line.setLength(0);
+            line.append("| ")
+                    .append(PADDED_OPERATION_TYPES[operation.operationType().ordinal()])
+                    .append(COLUMN_SEPARATOR);
+            appendDate(operation.date());
+            line.append(COLUMN_SEPARATOR);
+            appendAmount(operation.amount());
+            line.append(" |");
+            return line;
+        }
+
+        private void appendDate(LocalDateTime date) {
+            final int year = date.getYear();
+            if(year < 1 || year > 9999) {
+                line.append(center(date.format(FORMATTER), DATE_TIME_LENGTH));
+                return;
+            }
+
+            if(renderedDateSource == null || !isSameSecond(renderedDateSource, date)) {
+                writeTwoDigits(date.getDayOfMonth(), 0);
+                renderedDate[2] = '-';
+                writeTwoDigits(date.getMonthValue(), 3);
+                renderedDate[5] = '-';
+                writeTwoDigits(year / 100, 6);
+                writeTwoDigits(year % 100, 8);
+                renderedDate[10] = ' ';
+                writeTwoDigits(date.getHour(), 11);
+                renderedDate[13] = ':';
+                writeTwoDigits(date.getMinute(), 14);
+                renderedDate[16] = ':';
+                writeTwoDigits(date.getSecond(), 17);
+                renderedDateSource = date;
+            }
+            line.append(renderedDate);
+        }
+
+        private void writeTwoDigits(int value, int offset) {
+            renderedDate[offset] = (char) ('0' + value / 10);
+            renderedDate[offset + 1] = (char) ('0' + value % 10);
+        }
+
+        private static boolean isSameSecond(LocalDateTime a, LocalDateTime b) {
+            return a.getSecond() == b.getSecond()
+                    && a.getMinute() == b.getMinute()
+                    && a.getHour() == b.getHour()
+                    && a.toLocalDate().equals(b.toLocalDate());
+        }
+
+        private void appendAmount(Amount amount) {
+            final long minorUnits = amount.toMinorUnits();
+            final long units = minorUnits / 100;
+            final int cents = (int) (minorUnits % 100);
+
+            final int width = digitCount(units) + 3;
+            if(width < AMOUNT_LENGTH) {
+                line.append(SPACES, 0, AMOUNT_LENGTH - width);
+            }
+            line.append(units).append('.');
+            if(cents < 10) line.append('0');
+            line.append(cents);
+        }
+
+        private static int digitCount(long value) {
+            int digits = 1;
+            while(value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
 }
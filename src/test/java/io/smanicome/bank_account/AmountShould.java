@@ -0,0 +1,75 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.AmountOutOfRangeException;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmountShould {
+    @Test
+    void rejectNegativeValues() {
+        assertThrows(NegativeAmountException.class, () -> Amount.of(BigDecimal.valueOf(-1)));
+        assertThrows(NegativeAmountException.class, () -> Amount.ofMinorUnits(-1));
+    }
+
+    @Test
+    void roundSubMinorUnitValuesHalfEven() throws NegativeAmountException {
+        assertEquals(Amount.ZERO, Amount.of(new BigDecimal("0.001")));
+        assertEquals(Amount.ofMinorUnits(2), Amount.of(new BigDecimal("0.025")));
+        assertEquals(Amount.ofMinorUnits(4), Amount.of(new BigDecimal("0.035")));
+        assertEquals(Amount.ofMinorUnits(1), Amount.of(new BigDecimal("0.0051")));
+    }
+
+    @Test
+    void rejectValuesBeyondMinorUnitRange() {
+        assertThrows(AmountOutOfRangeException.class, () -> Amount.of(new BigDecimal("92233720368547758.08")));
+        assertThrows(AmountOutOfRangeException.class, () -> Amount.of(new BigDecimal("1e30")));
+    }
+
+    @Test
+    void compareEqualAcrossInputScales() throws NegativeAmountException {
+        assertEquals(Amount.of(new BigDecimal("1")), Amount.of(new BigDecimal("1.00")));
+        assertEquals(Amount.of(new BigDecimal("1")).hashCode(), Amount.of(new BigDecimal("1.000")).hashCode());
+    }
+
+    @Test
+    void addAndSubtract() throws NegativeAmountException {
+        final var amount = Amount.of(new BigDecimal("10.50"));
+
+        assertEquals(Amount.of(new BigDecimal("13.75")), amount.add(Amount.of(new BigDecimal("3.25"))));
+        assertEquals(Amount.of(new BigDecimal("0.01")), amount.subtract(Amount.of(new BigDecimal("10.49"))));
+        assertEquals(Amount.ZERO, amount.subtract(amount));
+    }
+
+    @Test
+    void throwWhenSubtractionGoesNegative() throws NegativeAmountException {
+        final var amount = Amount.of(BigDecimal.ONE);
+
+        assertThrows(NegativeAmountException.class, () -> amount.subtract(Amount.of(BigDecimal.TEN)));
+    }
+
+    @Test
+    void detectOverflow() throws NegativeAmountException {
+        final var amount = Amount.ofMinorUnits(Long.MAX_VALUE);
+
+        assertThrows(AmountOutOfRangeException.class, () -> amount.add(Amount.ofMinorUnits(1)));
+    }
+
+    @Test
+    void formatLikeTwoDigitBigDecimal() throws NegativeAmountException {
+        for(String value : new String[] {"0", "0.5", "0.05", "1", "12.3", "1000", "99999999.99", "92233720368547758.07"}) {
+            final var expected = new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).toString();
+
+            assertEquals(expected, Amount.of(new BigDecimal(value)).toCurrencyString());
+        }
+    }
+
+    @Test
+    void convertBackToBigDecimal() throws NegativeAmountException {
+        assertEquals(new BigDecimal("42.10"), Amount.of(new BigDecimal("42.1")).toBigDecimal());
+    }
+}
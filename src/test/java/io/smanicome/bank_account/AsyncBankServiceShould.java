@@ -0,0 +1,88 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.persistence.BankClientRepository;
+import io.smanicome.bank_account.persistence.InMemoryBankOperationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBankServiceShould {
+    @Mock
+    private BankClientRepository bankClientRepository;
+
+    @Mock
+    private IBankService blockingService;
+
+    @Test
+    void applyOperationsOfOneClientInSubmissionOrder() throws Exception {
+        when(bankClientRepository.existsById(any())).thenReturn(true);
+        final var operationRepository = new InMemoryBankOperationRepository();
+        final var bankService = new BankService(Clock.systemUTC(), bankClientRepository, operationRepository, statement -> {});
+        final var clients = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        try(var asyncService = new AsyncBankService(bankService, 4)) {
+            final List<CompletableFuture<BankOperation>> futures = new ArrayList<>();
+            for(int i = 0; i < 300; i++) {
+                futures.add(asyncService.deposit(clients.get(i % clients.size()), Amount.ofMinorUnits(1), Integer.toString(i)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        }
+
+        for(int c = 0; c < clients.size(); c++) {
+            final int clientIndex = c;
+            final var expectedLabels = IntStream.range(0, 300).filter(i -> i % clients.size() == clientIndex).mapToObj(Integer::toString).toList();
+            final var labels = operationRepository.findByAccountId(clients.get(c)).stream().map(BankOperation::label).toList();
+            assertEquals(expectedLabels, labels);
+        }
+    }
+
+    @Test
+    void completeExceptionallyOnRejection() throws ClientNotFoundException {
+        when(blockingService.deposit(any(), any(), any())).thenThrow(new ClientNotFoundException());
+
+        try(var asyncService = new AsyncBankService(blockingService, 4)) {
+            final var future = asyncService.deposit(UUID.randomUUID(), Amount.ZERO, "deposit");
+
+            final var exception = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(ClientNotFoundException.class, exception.getCause());
+        }
+    }
+
+    @Test
+    void capInFlightCalls() throws Exception {
+        final var inFlight = new AtomicInteger();
+        final var maxInFlight = new AtomicInteger();
+        when(blockingService.deposit(any(), any(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return null;
+        });
+
+        try(var asyncService = new AsyncBankService(blockingService, 3)) {
+            final var futures = IntStream.range(0, 50)
+                    .mapToObj(i -> asyncService.deposit(UUID.randomUUID(), Amount.ZERO, "deposit"))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).get();
+        }
+
+        assertTrue(maxInFlight.get() <= 3);
+        assertTrue(maxInFlight.get() > 1);
+    }
+}
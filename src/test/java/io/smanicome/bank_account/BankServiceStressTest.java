@@ -0,0 +1,142 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.concurrency.StripedLocks;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankServiceStressTest {
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 5_000;
+
+    @Test
+    void keepBalancesConsistentOnHotAccounts() throws Exception {
+        final List<UUID> clients = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        final Map<UUID, AtomicLong> expectedBalances = new ConcurrentHashMap<>();
+        clients.forEach(clientId -> expectedBalances.put(clientId, new AtomicLong()));
+
+        final var operationRepository = new UnsynchronizedOperationRepository();
+        final var bankService = new BankService(Clock.systemUTC(), clients::contains, operationRepository, statement -> {}, new StripedLocks(64));
+
+        final Amount one = Amount.of(BigDecimal.ONE);
+        final Amount two = Amount.of(BigDecimal.valueOf(2));
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try(ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for(int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final var random = ThreadLocalRandom.current();
+                    for(int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        final UUID clientId = clients.get(random.nextInt(clients.size()));
+                        if(random.nextInt(3) == 0) {
+                            try {
+                                bankService.withdraw(clientId, two);
+                                expectedBalances.get(clientId).addAndGet(-2);
+                            } catch (NegativeBalanceException ignored) {
+                            }
+                        } else {
+                            bankService.deposit(clientId, one, "deposit");
+                            expectedBalances.get(clientId).incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        for(UUID clientId : clients) {
+            final Amount balance = operationRepository.findLatestOperationByClientId(clientId).orElseThrow().balance();
+            assertEquals(Amount.of(BigDecimal.valueOf(expectedBalances.get(clientId).get())), balance);
+        }
+    }
+
+    @Test
+    void conserveMoneyAcrossOverlappingTransfers() throws Exception {
+        final List<UUID> clients = Stream.generate(UUID::randomUUID).limit(8).toList();
+        final var operationRepository = new UnsynchronizedOperationRepository();
+        final var bankService = new BankService(Clock.systemUTC(), clients::contains, operationRepository, statement -> {}, new StripedLocks(4));
+
+        final Amount initialBalance = Amount.of(BigDecimal.valueOf(100));
+        for(UUID clientId : clients) {
+            bankService.deposit(clientId, initialBalance, "deposit");
+        }
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try(ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for(int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final var random = ThreadLocalRandom.current();
+                    for(int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        final int from = random.nextInt(clients.size());
+                        final int to = (from + 1 + random.nextInt(clients.size() - 1)) % clients.size();
+                        try {
+                            bankService.transfer(clients.get(from), clients.get(to), Amount.ofMinorUnits(1 + random.nextInt(5_000)));
+                        } catch (NegativeBalanceException ignored) {
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        long total = 0;
+        for(UUID clientId : clients) {
+            total += operationRepository.findLatestOperationByClientId(clientId).orElseThrow().balance().toMinorUnits();
+        }
+        assertEquals(initialBalance.toMinorUnits() * clients.size(), total);
+    }
+
+    private static class UnsynchronizedOperationRepository implements BankOperationRepository {
+        private final Map<UUID, List<BankOperation>> operations = new ConcurrentHashMap<>();
+
+        @Override
+        public BankOperation save(BankOperation operation) {
+            final var saved = new BankOperation(UUID.randomUUID(), operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), operation.date(), operation.label());
+            operations.computeIfAbsent(operation.clientId(), id -> new CopyOnWriteArrayList<>()).add(saved);
+            return saved;
+        }
+
+        @Override
+        public Optional<BankOperation> findLatestOperationByClientId(UUID clientId) {
+            final List<BankOperation> clientOperations = operations.getOrDefault(clientId, List.of());
+            return clientOperations.isEmpty() ? Optional.empty() : Optional.of(clientOperations.get(clientOperations.size() - 1));
+        }
+
+        @Override
+        public List<BankOperation> findByAccountId(UUID clientId) {
+            return List.copyOf(operations.getOrDefault(clientId, List.of()));
+        }
+    }
+}
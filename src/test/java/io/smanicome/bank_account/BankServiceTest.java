@@ -1,10 +1,12 @@
 package io.smanicome.bank_account;
 
+import io.smanicome.bank_account.concurrency.StripedLocks;
 import io.smanicome.bank_account.exceptions.ClientNotFoundException;
 import io.smanicome.bank_account.exceptions.NegativeAmountException;
 import io.smanicome.bank_account.exceptions.NegativeBalanceException;
 import io.smanicome.bank_account.persistence.BankClientRepository;
 import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.IdempotencyStore;
 import io.smanicome.bank_account.visual.StatementWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.*;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -152,6 +155,384 @@ class BankServiceTest {
         }
     }
 
+    @Nested
+    class TryOperationsShould {
+        @Test
+        void returnAppliedOperation() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount amount = Amount.of(BigDecimal.ONE);
+            final BankOperation.OperationType type = BankOperation.OperationType.DEPOSIT;
+            final BankOperation saved = new BankOperation(UUID.randomUUID(), clientId, type, amount, amount, date, "test");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.empty());
+            when(bankOperationRepository.save(any())).thenReturn(saved);
+
+            assertEquals(new OperationResult.Applied(saved), bankService.tryDeposit(clientId, amount, "test"));
+            verify(bankOperationRepository).save(new BankOperation(null, clientId, type, amount, amount, date, "test"));
+        }
+
+        @Test
+        void reportBalanceOverflow() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final Amount maximum = Amount.ofMinorUnits(Long.MAX_VALUE);
+            final Amount one = Amount.of(BigDecimal.ONE);
+            final BankOperation latestOperation = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, maximum, maximum, LocalDateTime.now(clock), "salary");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(clientId)).thenReturn(Optional.of(latestOperation));
+
+            assertEquals(new OperationResult.BalanceOverflow(clientId, maximum, one), bankService.tryDeposit(clientId, one, "test"));
+            assertThrows(ArithmeticException.class, () -> bankService.deposit(clientId, one, "test"));
+            verify(bankOperationRepository, never()).save(any());
+        }
+
+        @Test
+        void reportUnknownClient() {
+            final UUID clientId = UUID.randomUUID();
+
+            assertEquals(new OperationResult.UnknownClient(clientId), bankService.tryDeposit(clientId, Amount.ZERO, "test"));
+            assertEquals(new OperationResult.UnknownClient(clientId), bankService.tryWithdraw(clientId, Amount.ZERO));
+            verifyNoInteractions(bankOperationRepository);
+        }
+
+        @Test
+        void reportInsufficientFundsWithoutSaving() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount balance = Amount.of(BigDecimal.ONE);
+            final Amount amount = Amount.of(BigDecimal.TEN);
+            final BankOperation lastOperation = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, balance, balance, date, "last");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.of(lastOperation));
+
+            assertEquals(new OperationResult.InsufficientFunds(clientId, balance, amount), bankService.tryWithdraw(clientId, amount));
+            verify(bankOperationRepository, never()).save(any());
+        }
+
+        @Test
+        void replayIdempotentWithdrawal() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount amount = Amount.of(BigDecimal.ONE);
+            final BankOperation lastOperation = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, amount, amount, date, "last");
+            final BankOperation saved = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.WITHDRAWAL, amount, Amount.ZERO, date, "withdrawal");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.of(lastOperation));
+            when(bankOperationRepository.save(any())).thenReturn(saved);
+
+            assertEquals(new OperationResult.Applied(saved), bankService.tryWithdraw(clientId, amount, "key"));
+            assertEquals(new OperationResult.Applied(saved), bankService.tryWithdraw(clientId, amount, "key"));
+            verify(bankOperationRepository, times(1)).save(any());
+        }
+    }
+
+    @Nested
+    class IdempotencyShould {
+        @Test
+        void returnOriginalDepositForRepeatedKey() throws ClientNotFoundException, NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final Amount amount = Amount.of(BigDecimal.ONE);
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.empty());
+            when(bankOperationRepository.save(any())).thenAnswer(invocation -> withRandomId(invocation.getArgument(0)));
+
+
+            final BankOperation first = bankService.deposit(clientId, amount, "salary", "request-1");
+            final BankOperation retried = bankService.deposit(clientId, amount, "salary", "request-1");
+            final BankOperation other = bankService.deposit(clientId, amount, "salary", "request-2");
+
+            assertSame(first, retried);
+            assertNotEquals(first.id(), other.id());
+            verify(bankOperationRepository, times(2)).save(any());
+        }
+
+        @Test
+        void returnOriginalWithdrawalForRepeatedKey() throws ClientNotFoundException, NegativeBalanceException, NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final Amount ten = Amount.of(BigDecimal.TEN);
+            final BankOperation lastOperation = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, ten, ten, LocalDateTime.now(clock), "deposit");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.of(lastOperation));
+            when(bankOperationRepository.save(any())).thenAnswer(invocation -> withRandomId(invocation.getArgument(0)));
+
+
+            final BankOperation first = bankService.withdraw(clientId, ten, "request-1");
+            final BankOperation retried = bankService.withdraw(clientId, ten, "request-1");
+
+            assertSame(first, retried);
+            verify(bankOperationRepository).save(any());
+        }
+
+        @Test
+        void scopeKeysToClient() throws ClientNotFoundException {
+            final UUID clientId = UUID.randomUUID();
+            final UUID otherClientId = UUID.randomUUID();
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.empty());
+            when(bankOperationRepository.save(any())).thenAnswer(invocation -> withRandomId(invocation.getArgument(0)));
+
+
+            bankService.deposit(clientId, Amount.ZERO, "salary", "request-1");
+            bankService.deposit(otherClientId, Amount.ZERO, "salary", "request-1");
+
+            verify(bankOperationRepository, times(2)).save(any());
+        }
+
+        @Test
+        void prepareKeyBeforeSavingOperation() throws ClientNotFoundException {
+            final UUID clientId = UUID.randomUUID();
+            final IdempotencyStore idempotencyStore = mock(IdempotencyStore.class);
+            final BankService service = new BankService(clock, bankClientRepository, bankOperationRepository, statementWriter, StripedLocks.forAvailableProcessors(), idempotencyStore);
+            final BankOperation operation = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, Amount.ZERO, Amount.ZERO, LocalDateTime.now(clock), "salary");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.empty());
+            when(idempotencyStore.find(any(), any())).thenReturn(Optional.empty());
+            when(bankOperationRepository.save(any())).thenAnswer(invocation -> withRandomId(invocation.getArgument(0)));
+
+
+            final BankOperation saved = service.deposit(clientId, Amount.ZERO, "salary", "request-1");
+
+            final InOrder orderVerifier = inOrder(idempotencyStore, bankOperationRepository);
+            orderVerifier.verify(idempotencyStore).prepare(clientId, "request-1", operation);
+            orderVerifier.verify(bankOperationRepository).save(operation);
+            orderVerifier.verify(idempotencyStore).remember(clientId, "request-1", saved);
+        }
+
+        private static BankOperation withRandomId(BankOperation operation) {
+            return new BankOperation(UUID.randomUUID(), operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), operation.date(), operation.label());
+        }
+    }
+
+    @Nested
+    class TransferShould {
+        @Test
+        void saveDebitAndCreditTogether() throws NegativeAmountException, ClientNotFoundException, NegativeBalanceException {
+            final UUID fromClientId = UUID.randomUUID();
+            final UUID toClientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount ten = Amount.of(BigDecimal.TEN);
+            final Amount one = Amount.of(BigDecimal.ONE);
+
+            final BankOperation fromLatest = new BankOperation(null, fromClientId, BankOperation.OperationType.DEPOSIT, ten, ten, date, "deposit");
+            final List<BankOperation> operationsToSave = List.of(
+                    new BankOperation(null, fromClientId, BankOperation.OperationType.WITHDRAWAL, one, Amount.of(BigDecimal.valueOf(9)), date, "transfer to " + toClientId),
+                    new BankOperation(null, toClientId, BankOperation.OperationType.DEPOSIT, one, one, date, "transfer from " + fromClientId)
+            );
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(fromClientId)).thenReturn(Optional.of(fromLatest));
+            when(bankOperationRepository.findLatestOperationByClientId(toClientId)).thenReturn(Optional.empty());
+            when(bankOperationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+            final Transfer transfer = bankService.transfer(fromClientId, toClientId, one);
+
+            assertEquals(new Transfer(operationsToSave.get(0), operationsToSave.get(1)), transfer);
+            verify(bankOperationRepository).saveAll(operationsToSave);
+            verify(bankOperationRepository, never()).save(any());
+        }
+
+        @Test
+        void throwOnUnknownClient() {
+            final UUID fromClientId = UUID.randomUUID();
+            final UUID toClientId = UUID.randomUUID();
+            when(bankClientRepository.existsById(any())).thenAnswer(invocation -> fromClientId.equals(invocation.getArgument(0)));
+
+            assertThrows(ClientNotFoundException.class, () -> bankService.transfer(fromClientId, toClientId, Amount.ZERO));
+            verifyNoInteractions(bankOperationRepository);
+        }
+
+        @Test
+        void throwOnNegativeBalance() {
+            final UUID fromClientId = UUID.randomUUID();
+            final UUID toClientId = UUID.randomUUID();
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(fromClientId)).thenReturn(Optional.empty());
+
+            assertThrows(NegativeBalanceException.class, () -> bankService.transfer(fromClientId, toClientId, Amount.of(BigDecimal.ONE)));
+            verify(bankOperationRepository, never()).saveAll(any());
+        }
+
+        @Test
+        void throwOnTransferToSameClient() {
+            final UUID clientId = UUID.randomUUID();
+
+            assertThrows(IllegalArgumentException.class, () -> bankService.transfer(clientId, clientId, Amount.ZERO));
+            verifyNoInteractions(bankClientRepository, bankOperationRepository);
+        }
+    }
+
+    @Nested
+    class BatchShould {
+        @Test
+        void chainBalancesAndSaveOnce() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount ten = Amount.of(BigDecimal.TEN);
+            final Amount one = Amount.of(BigDecimal.ONE);
+
+            final BankOperation lastOperation = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, ten, ten, date, "last");
+            final List<BatchEntry> entries = List.of(
+                    BatchEntry.deposit(clientId, one, "salary"),
+                    BatchEntry.withdrawal(clientId, ten)
+            );
+
+            final List<BankOperation> operationsToSave = List.of(
+                    new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, one, Amount.of(BigDecimal.valueOf(11)), date, "salary"),
+                    new BankOperation(null, clientId, BankOperation.OperationType.WITHDRAWAL, ten, one, date, "withdrawal")
+            );
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.of(lastOperation));
+            when(bankOperationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+            final List<BatchOutcome> outcomes = bankService.applyBatch(entries);
+
+            assertEquals(List.of(
+                    BatchOutcome.applied(entries.get(0), operationsToSave.get(0)),
+                    BatchOutcome.applied(entries.get(1), operationsToSave.get(1))
+            ), outcomes);
+
+            final InOrder orderVerifier = inOrder(bankOperationRepository, bankClientRepository);
+            orderVerifier.verify(bankClientRepository).existsById(clientId);
+            orderVerifier.verify(bankOperationRepository).findLatestOperationByClientId(clientId);
+            orderVerifier.verify(bankOperationRepository).saveAll(operationsToSave);
+            orderVerifier.verifyNoMoreInteractions();
+        }
+
+        @Test
+        void reportRejectedEntriesWithoutAbortingBatch() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final UUID unknownClientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount one = Amount.of(BigDecimal.ONE);
+
+            final List<BatchEntry> entries = List.of(
+                    BatchEntry.deposit(unknownClientId, one, "salary"),
+                    BatchEntry.withdrawal(clientId, one),
+                    BatchEntry.deposit(clientId, one, "salary")
+            );
+            final BankOperation operationToSave = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, one, one, date, "salary");
+
+            when(bankClientRepository.existsById(any())).thenAnswer(invocation -> clientId.equals(invocation.getArgument(0)));
+            when(bankOperationRepository.findLatestOperationByClientId(any())).thenReturn(Optional.empty());
+            when(bankOperationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+
+            final List<BatchOutcome> outcomes = bankService.applyBatch(entries);
+
+            assertEquals(List.of(
+                    BatchOutcome.rejected(entries.get(0), BatchOutcome.Status.CLIENT_NOT_FOUND),
+                    BatchOutcome.rejected(entries.get(1), BatchOutcome.Status.NEGATIVE_BALANCE),
+                    BatchOutcome.applied(entries.get(2), operationToSave)
+            ), outcomes);
+
+            verify(bankOperationRepository).saveAll(List.of(operationToSave));
+        }
+
+        @Test
+        void rejectDepositOverflowingBalanceWithoutAbortingBatch() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final UUID otherClientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final Amount one = Amount.of(BigDecimal.ONE);
+            final Amount maximum = Amount.ofMinorUnits(Long.MAX_VALUE);
+            final BankOperation latestOperation = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, maximum, maximum, date.minusDays(1), "salary");
+
+            final List<BatchEntry> entries = List.of(
+                    BatchEntry.deposit(clientId, one, "salary"),
+                    BatchEntry.deposit(otherClientId, one, "salary")
+            );
+            final BankOperation operationToSave = new BankOperation(null, otherClientId, BankOperation.OperationType.DEPOSIT, one, one, date, "salary");
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findLatestOperationByClientId(clientId)).thenReturn(Optional.of(latestOperation));
+            when(bankOperationRepository.findLatestOperationByClientId(otherClientId)).thenReturn(Optional.empty());
+            when(bankOperationRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            final List<BatchOutcome> outcomes = bankService.applyBatch(entries);
+
+            assertEquals(List.of(
+                    BatchOutcome.rejected(entries.get(0), BatchOutcome.Status.BALANCE_OVERFLOW),
+                    BatchOutcome.applied(entries.get(1), operationToSave)
+            ), outcomes);
+
+            verify(bankOperationRepository).saveAll(List.of(operationToSave));
+        }
+    }
+
+    @Nested
+    class BalanceAtShould {
+        @Test
+        void readBalanceFromRepository() throws ClientNotFoundException, NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findBalanceAt(clientId, date)).thenReturn(Amount.of(BigDecimal.TEN));
+
+            assertEquals(Amount.of(BigDecimal.TEN), bankService.balanceAt(clientId, date));
+        }
+
+        @Test
+        void throwOnUnknownClient() {
+            final UUID clientId = UUID.randomUUID();
+
+            assertThrows(ClientNotFoundException.class, () -> bankService.balanceAt(clientId, LocalDateTime.now(clock)));
+            verifyNoInteractions(bankOperationRepository);
+        }
+
+        @Test
+        void answerManyClientsSkippingUnknownOnes() throws NegativeAmountException {
+            final UUID clientId = UUID.randomUUID();
+            final UUID otherClientId = UUID.randomUUID();
+            final UUID unknownClientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+
+            when(bankClientRepository.existsById(any())).thenAnswer(invocation -> !unknownClientId.equals(invocation.getArgument(0)));
+            when(bankOperationRepository.findBalanceAt(clientId, date)).thenReturn(Amount.of(BigDecimal.ONE));
+            when(bankOperationRepository.findBalanceAt(otherClientId, date)).thenReturn(Amount.ZERO);
+
+            final var balances = bankService.balancesAt(List.of(clientId, otherClientId, unknownClientId, clientId), date);
+
+            assertEquals(Map.of(clientId, Amount.of(BigDecimal.ONE), otherClientId, Amount.ZERO), balances);
+        }
+
+        @Test
+        void readBalancesOnVirtualThreads() {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findBalanceAt(clientId, date)).thenAnswer(invocation -> {
+                assertTrue(Thread.currentThread().isVirtual());
+                return Amount.ZERO;
+            });
+
+            assertEquals(Map.of(clientId, Amount.ZERO), bankService.balancesAt(List.of(clientId), date));
+        }
+
+        @Test
+        void propagateRepositoryFailure() {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findBalanceAt(clientId, date)).thenThrow(new IllegalStateException("storage unavailable"));
+
+            assertThrows(IllegalStateException.class, () -> bankService.balancesAt(List.of(clientId), date));
+        }
+    }
+
     @Nested
     class StatementPrintingShould {
         @Test
@@ -203,6 +584,38 @@ class BankServiceTest {
             orderVerifier.verifyNoMoreInteractions();
         }
 
+        @Test
+        void printStatementOfPeriod() throws NegativeAmountException, ClientNotFoundException {
+            final UUID clientId = UUID.randomUUID();
+            final LocalDateTime date = LocalDateTime.now(clock);
+            final LocalDateTime from = date.minusDays(30);
+
+            final var operations = List.of(
+                    new BankOperation(
+                            UUID.randomUUID(),
+                            clientId,
+                            BankOperation.OperationType.DEPOSIT,
+                            Amount.of(BigDecimal.valueOf(2000)),
+                            Amount.of(BigDecimal.valueOf(2000)),
+                            date.minusDays(10),
+                            "deposit"
+                    )
+            );
+
+            final Statement statement = new Statement(clientId, operations, date);
+
+            when(bankClientRepository.existsById(any())).thenReturn(true);
+            when(bankOperationRepository.findByAccountIdBetween(any(), any(), any())).thenReturn(operations);
+
+            bankService.printAccountStatement(clientId, from, date);
+
+            final var orderVerifier = inOrder(bankClientRepository, bankOperationRepository, statementWriter);
+            orderVerifier.verify(bankClientRepository).existsById(clientId);
+            orderVerifier.verify(bankOperationRepository).findByAccountIdBetween(clientId, from, date);
+            orderVerifier.verify(statementWriter).write(statement);
+            orderVerifier.verifyNoMoreInteractions();
+        }
+
         @Test
         void throwOnUnknownClient() {
             final UUID clientId = UUID.randomUUID();
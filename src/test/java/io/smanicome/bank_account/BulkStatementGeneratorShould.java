@@ -0,0 +1,100 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.BankClientRepository;
+import io.smanicome.bank_account.persistence.BankOperationRepository;
+import io.smanicome.bank_account.persistence.InMemoryBankOperationRepository;
+import io.smanicome.bank_account.visual.TabularStatementFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static io.smanicome.bank_account.TestOperations.deposit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkStatementGeneratorShould {
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 1, 31, 12, 0);
+
+    private final Clock clock = Clock.fixed(Instant.EPOCH, ZoneId.systemDefault());
+    private final TabularStatementFormatter formatter = new TabularStatementFormatter();
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private BankClientRepository bankClientRepository;
+
+    @Test
+    void writeOneStatementFilePerClient() throws Exception {
+        final List<UUID> clients = Stream.generate(UUID::randomUUID).limit(50).toList();
+        final var operationRepository = new InMemoryBankOperationRepository();
+        for(UUID clientId : clients) {
+            operationRepository.save(deposit(clientId, 100, 100, DATE));
+        }
+        when(bankClientRepository.findAllIds()).thenAnswer(invocation -> clients.stream());
+        final var generator = new BulkStatementGenerator(clock, bankClientRepository, operationRepository, formatter, directory, 4);
+        final Set<UUID> reported = ConcurrentHashMap.newKeySet();
+
+        final var report = generator.generateAll(new BulkStatementListener() {
+            @Override
+            public void onStatementWritten(UUID clientId, Path file) {
+                reported.add(clientId);
+            }
+        });
+
+        assertEquals(new BulkStatementReport(50, 0, 0), report);
+        assertEquals(Set.copyOf(clients), reported);
+        for(UUID clientId : clients) {
+            final Path file = generator.statementFile(clientId);
+            assertEquals(directory.resolve(clientId.toString().substring(0, 2)), file.getParent());
+            final var statement = new Statement(clientId, operationRepository.findByAccountId(clientId), LocalDateTime.now(clock));
+            assertEquals(formatter.format(statement), Files.readAllLines(file));
+        }
+    }
+
+    @Test
+    void resumeAfterFailure() throws Exception {
+        final UUID healthyClient = UUID.randomUUID();
+        final UUID failingClient = UUID.randomUUID();
+        final var operationRepository = mock(BankOperationRepository.class);
+        when(bankClientRepository.findAllIds()).thenAnswer(invocation -> Stream.of(healthyClient, failingClient));
+        when(operationRepository.findByAccountId(healthyClient)).thenReturn(List.of(deposit(healthyClient, 100, 100, DATE)));
+        when(operationRepository.findByAccountId(failingClient))
+                .thenThrow(new IllegalStateException("storage unavailable"))
+                .thenReturn(List.of(deposit(failingClient, 100, 100, DATE)));
+        final var generator = new BulkStatementGenerator(clock, bankClientRepository, operationRepository, formatter, directory, 2);
+
+        assertEquals(new BulkStatementReport(1, 0, 1), generator.generateAll(BulkStatementListener.NONE));
+        assertFalse(Files.exists(generator.statementFile(failingClient)));
+
+        assertEquals(new BulkStatementReport(1, 1, 0), generator.generateAll(BulkStatementListener.NONE));
+        assertTrue(Files.exists(generator.statementFile(failingClient)));
+        verify(operationRepository, times(1)).findByAccountId(healthyClient);
+        try(var files = Files.walk(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    void failWhenClientsCannotBeListed() {
+        final var generator = new BulkStatementGenerator(clock, clientId -> true, new InMemoryBankOperationRepository(), formatter, directory, 2);
+
+        assertThrows(UnsupportedOperationException.class, () -> generator.generateAll(BulkStatementListener.NONE));
+    }
+}
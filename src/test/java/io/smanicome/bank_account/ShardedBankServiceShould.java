@@ -0,0 +1,138 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+import io.smanicome.bank_account.persistence.BankClientRepository;
+import io.smanicome.bank_account.persistence.InMemoryBankOperationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShardedBankServiceShould {
+    @Mock
+    private BankClientRepository bankClientRepository;
+
+    @Test
+    void applyOperationsOfOneClientInSubmissionOrder() throws Exception {
+        when(bankClientRepository.existsById(any())).thenReturn(true);
+        final var operationRepository = new InMemoryBankOperationRepository();
+        final var clients = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        try(var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, operationRepository, statement -> {}, 2, 16)) {
+            final List<CompletableFuture<BankOperation>> futures = new ArrayList<>();
+            for(int i = 0; i < 300; i++) {
+                futures.add(service.deposit(clients.get(i % clients.size()), Amount.ofMinorUnits(1), Integer.toString(i)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        }
+
+        for(int c = 0; c < clients.size(); c++) {
+            final int clientIndex = c;
+            final var expectedLabels = IntStream.range(0, 300).filter(i -> i % clients.size() == clientIndex).mapToObj(Integer::toString).toList();
+            final var operations = operationRepository.findByAccountId(clients.get(c));
+            assertEquals(expectedLabels, operations.stream().map(BankOperation::label).toList());
+            assertEquals(Amount.ofMinorUnits(100), operations.getLast().balance());
+        }
+    }
+
+    @Test
+    void keepBalancesConsistentUnderConcurrentProducers() throws Exception {
+        when(bankClientRepository.existsById(any())).thenReturn(true);
+        final var operationRepository = new InMemoryBankOperationRepository();
+        final var client = UUID.randomUUID();
+        final int producers = 8;
+        final int depositsPerProducer = 1_000;
+        final var cent = Amount.ofMinorUnits(1);
+
+        try(var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, operationRepository, statement -> {}, 4, 8)) {
+            final List<Thread> threads = new ArrayList<>();
+            final List<CompletableFuture<BankOperation>> futures = new ArrayList<>();
+            for(int p = 0; p < producers; p++) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    for(int i = 0; i < depositsPerProducer; i++) {
+                        final var future = service.deposit(client, cent, "deposit");
+                        synchronized(futures) {
+                            futures.add(future);
+                        }
+                    }
+                }));
+            }
+            for(Thread thread : threads) {
+                thread.join();
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+        }
+
+        assertEquals(Amount.ofMinorUnits(producers * depositsPerProducer), operationRepository.findLatestOperationByClientId(client).orElseThrow().balance());
+    }
+
+    @Test
+    void startFromPersistedBalance() throws Exception {
+        when(bankClientRepository.existsById(any())).thenReturn(true);
+        final var operationRepository = new InMemoryBankOperationRepository();
+        final var client = UUID.randomUUID();
+        final var bankService = new BankService(Clock.systemUTC(), bankClientRepository, operationRepository, statement -> {});
+        bankService.deposit(client, Amount.ofMinorUnits(500), "deposit");
+
+        try(var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, operationRepository, statement -> {}, 2, 16)) {
+            assertEquals(Amount.ofMinorUnits(300), service.withdraw(client, Amount.ofMinorUnits(200)).get().balance());
+        }
+    }
+
+    @Test
+    void completeExceptionallyOnRejection() throws Exception {
+        final var unknownClient = UUID.randomUUID();
+        final var knownClient = UUID.randomUUID();
+        when(bankClientRepository.existsById(unknownClient)).thenReturn(false);
+        when(bankClientRepository.existsById(knownClient)).thenReturn(true);
+
+        try(var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, new InMemoryBankOperationRepository(), statement -> {}, 2, 16)) {
+            final var unknown = assertThrows(ExecutionException.class, () -> service.deposit(unknownClient, Amount.ZERO, "deposit").get());
+            assertInstanceOf(ClientNotFoundException.class, unknown.getCause());
+
+            final var overdrawn = assertThrows(ExecutionException.class, () -> service.withdraw(knownClient, Amount.ofMinorUnits(1)).get());
+            assertInstanceOf(NegativeBalanceException.class, overdrawn.getCause());
+        }
+    }
+
+    @Test
+    void writeStatementWithOperationsSubmittedBefore() throws Exception {
+        when(bankClientRepository.existsById(any())).thenReturn(true);
+        final var client = UUID.randomUUID();
+        final var written = new AtomicReference<Statement>();
+
+        try(var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, new InMemoryBankOperationRepository(), written::set, 2, 16)) {
+            service.deposit(client, Amount.ofMinorUnits(10), "first");
+            service.deposit(client, Amount.ofMinorUnits(20), "second");
+            service.printAccountStatement(client).get();
+        }
+
+        assertEquals(List.of("first", "second"), written.get().bankOperations().stream().map(BankOperation::label).toList());
+    }
+
+    @Test
+    void rejectCallsAfterClose() {
+        final var service = new ShardedBankService(Clock.systemUTC(), bankClientRepository, new InMemoryBankOperationRepository(), statement -> {}, 2, 16);
+        service.close();
+
+        final var rejected = assertThrows(ExecutionException.class, () -> service.deposit(UUID.randomUUID(), Amount.ZERO, "deposit").get());
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        verifyNoInteractions(bankClientRepository);
+    }
+}
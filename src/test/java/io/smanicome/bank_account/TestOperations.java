@@ -0,0 +1,23 @@
+package io.smanicome.bank_account;
+
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public final class TestOperations {
+    private TestOperations() {
+    }
+
+    public static BankOperation deposit(UUID clientId, long amount, long balance, LocalDateTime date) throws NegativeAmountException {
+        return operation(clientId, BankOperation.OperationType.DEPOSIT, amount, balance, date);
+    }
+
+    public static BankOperation operation(UUID clientId, BankOperation.OperationType type, long amount, long balance, LocalDateTime date) throws NegativeAmountException {
+        return operation(clientId, type, amount, balance, date, type == BankOperation.OperationType.DEPOSIT ? "deposit" : "withdrawal");
+    }
+
+    public static BankOperation operation(UUID clientId, BankOperation.OperationType type, long amount, long balance, LocalDateTime date, String label) throws NegativeAmountException {
+        return new BankOperation(null, clientId, type, Amount.ofMinorUnits(amount), Amount.ofMinorUnits(balance), date, label);
+    }
+}
@@ -0,0 +1,69 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankOperationCodecShould {
+    @Test
+    void roundTripRandomOperations() throws NegativeAmountException {
+        final var operations = new RandomOperations(21);
+
+        for(int i = 0; i < 5_000; i++) {
+            final BankOperation operation = operations.next(UUID.randomUUID(), operations.date());
+            final int size = BankOperationCodec.encodedSize(operation);
+            final ByteBuffer buffer = i % 2 == 0 ? ByteBuffer.allocate(size) : ByteBuffer.allocateDirect(size);
+
+            BankOperationCodec.encode(operation, buffer);
+            assertFalse(buffer.hasRemaining());
+
+            buffer.flip();
+            assertEquals(operation, BankOperationCodec.decode(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    void encodeTypicalOperationCompactly() throws NegativeAmountException {
+        final var operation = new BankOperation(UUID.randomUUID(), UUID.randomUUID(), BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(12_345), Amount.ofMinorUnits(1_234_567), LocalDateTime.of(2024, 1, 31, 12, 0), "deposit");
+
+        assertEquals(53, BankOperationCodec.encodedSize(operation));
+    }
+
+    @Test
+    void rejectUnknownVersion() throws NegativeAmountException {
+        final var operation = new BankOperation(null, UUID.randomUUID(), BankOperation.OperationType.DEPOSIT, Amount.ZERO, Amount.ZERO, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        final var buffer = ByteBuffer.allocate(BankOperationCodec.encodedSize(operation));
+        BankOperationCodec.encode(operation, buffer);
+        buffer.put(0, (byte) 99).flip();
+
+        assertThrows(IllegalArgumentException.class, () -> BankOperationCodec.decode(buffer));
+    }
+
+    @Test
+    void failOnTruncatedInput() throws NegativeAmountException {
+        final var operation = new BankOperation(UUID.randomUUID(), UUID.randomUUID(), BankOperation.OperationType.WITHDRAWAL, Amount.ofMinorUnits(1), Amount.ZERO, LocalDateTime.of(2024, 1, 1, 0, 0), "withdrawal");
+        final var buffer = ByteBuffer.allocate(BankOperationCodec.encodedSize(operation));
+        BankOperationCodec.encode(operation, buffer);
+        buffer.flip().limit(buffer.limit() - 3);
+
+        assertThrows(RuntimeException.class, () -> BankOperationCodec.decode(buffer));
+    }
+
+    @Test
+    void failWhenTargetBufferIsTooSmall() throws NegativeAmountException {
+        final var operation = new BankOperation(UUID.randomUUID(), UUID.randomUUID(), BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(1), Amount.ofMinorUnits(1), LocalDateTime.of(2024, 1, 1, 0, 0), "deposit");
+
+        assertThrows(BufferOverflowException.class, () -> BankOperationCodec.encode(operation, ByteBuffer.allocate(10)));
+        assertThrows(BufferUnderflowException.class, () -> BankOperationCodec.decode(ByteBuffer.allocate(0)));
+    }
+}
@@ -0,0 +1,62 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.UUID;
+
+final class RandomOperations {
+    private static final String[] LABELS = { "deposit", "withdrawal", "salary", "loyer", "café ☕", "" };
+
+    private final Random random;
+
+    RandomOperations(long seed) {
+        this.random = new Random(seed);
+    }
+
+    BankOperation next(UUID clientId, LocalDateTime date) throws NegativeAmountException {
+        return new BankOperation(
+                random.nextInt(10) == 0 ? null : new UUID(random.nextLong(), random.nextLong()),
+                clientId,
+                random.nextBoolean() ? BankOperation.OperationType.DEPOSIT : BankOperation.OperationType.WITHDRAWAL,
+                Amount.ofMinorUnits(minorUnits()),
+                Amount.ofMinorUnits(minorUnits()),
+                date,
+                label());
+    }
+
+    LocalDateTime date() {
+        final long epochSecond = switch (random.nextInt(4)) {
+            case 0 -> LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC) + random.nextInt(1_000);
+            case 1 -> LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC) - random.nextInt(1_000);
+            default -> 1_700_000_000L + random.nextInt(100_000_000);
+        };
+        return LocalDateTime.ofEpochSecond(epochSecond, random.nextInt(1_000_000_000), ZoneOffset.UTC);
+    }
+
+    LocalDateTime after(LocalDateTime date) {
+        return random.nextInt(8) == 0 ? date.minusSeconds(random.nextInt(3_600)) : date.plusSeconds(random.nextInt(86_400)).withNano(random.nextInt(1_000_000_000));
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private long minorUnits() {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(100);
+            case 1 -> Long.MAX_VALUE - random.nextInt(100);
+            default -> random.nextLong(1L << random.nextInt(1, 63));
+        };
+    }
+
+    private String label() {
+        if(random.nextInt(10) == 0) return null;
+        if(random.nextInt(10) == 0) return "label-" + random.nextInt(1_000);
+        return LABELS[random.nextInt(LABELS.length)];
+    }
+}
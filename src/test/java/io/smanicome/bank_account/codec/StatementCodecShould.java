@@ -0,0 +1,65 @@
+package io.smanicome.bank_account.codec;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCodecShould {
+    @Test
+    void roundTripRandomStatements() throws NegativeAmountException {
+        final var operations = new RandomOperations(2021);
+
+        for(int i = 0; i < 500; i++) {
+            final UUID accountId = UUID.randomUUID();
+            final List<BankOperation> history = new ArrayList<>();
+            LocalDateTime date = operations.date().withYear(2000 + operations.nextInt(100));
+            for(int j = operations.nextInt(50); j > 0; j--) {
+                date = operations.after(date);
+                history.add(operations.next(accountId, date));
+            }
+            final var statement = new Statement(accountId, history, operations.date());
+            final int size = StatementCodec.encodedSize(statement);
+            final ByteBuffer buffer = i % 2 == 0 ? ByteBuffer.allocate(size) : ByteBuffer.allocateDirect(size);
+
+            StatementCodec.encode(statement, buffer);
+            assertFalse(buffer.hasRemaining());
+
+            buffer.flip();
+            assertEquals(statement, StatementCodec.decode(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    void encodeHistoryCompactly() throws NegativeAmountException {
+        final UUID accountId = UUID.randomUUID();
+        final List<BankOperation> history = new ArrayList<>();
+        final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for(int i = 0; i < 1_000; i++) {
+            history.add(new BankOperation(UUID.randomUUID(), accountId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(5_000), Amount.ofMinorUnits(5_000L * (i + 1)), start.plusHours(i), i % 2 == 0 ? "salary" : "deposit"));
+        }
+
+        final int size = StatementCodec.encodedSize(new Statement(accountId, history, start));
+
+        assertTrue(size < 1_000 * 30, "encoded size " + size);
+    }
+
+    @Test
+    void rejectOperationsOfAnotherAccount() throws NegativeAmountException {
+        final var operation = new BankOperation(null, UUID.randomUUID(), BankOperation.OperationType.DEPOSIT, Amount.ZERO, Amount.ZERO, LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        final var statement = new Statement(UUID.randomUUID(), List.of(operation), LocalDateTime.of(2024, 1, 2, 0, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> StatementCodec.encodedSize(statement));
+        assertThrows(IllegalArgumentException.class, () -> StatementCodec.encode(statement, ByteBuffer.allocate(1_024)));
+    }
+}
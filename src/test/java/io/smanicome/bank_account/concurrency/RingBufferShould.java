@@ -0,0 +1,78 @@
+package io.smanicome.bank_account.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferShould {
+    @Test
+    void roundCapacityUpToPowerOfTwo() {
+        assertEquals(2, new RingBuffer<>(1).capacity());
+        assertEquals(8, new RingBuffer<>(5).capacity());
+        assertEquals(8, new RingBuffer<>(8).capacity());
+    }
+
+    @Test
+    void rejectOffersWhenFull() {
+        final var ringBuffer = new RingBuffer<Integer>(2);
+
+        assertTrue(ringBuffer.offer(1));
+        assertTrue(ringBuffer.offer(2));
+        assertFalse(ringBuffer.offer(3));
+
+        assertEquals(1, ringBuffer.poll());
+        assertTrue(ringBuffer.offer(3));
+        assertEquals(2, ringBuffer.poll());
+        assertEquals(3, ringBuffer.poll());
+        assertNull(ringBuffer.poll());
+        assertTrue(ringBuffer.isEmpty());
+    }
+
+    @Test
+    void deliverEveryItemOnceInPerProducerOrder() throws InterruptedException {
+        final int producers = 4;
+        final int itemsPerProducer = 10_000;
+        final var ringBuffer = new RingBuffer<long[]>(64);
+        final var start = new CountDownLatch(1);
+
+        final List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++) {
+            final long producer = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for(long i = 0; i < itemsPerProducer; i++) {
+                    final long[] item = { producer, i };
+                    while(!ringBuffer.offer(item)) {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+
+        start.countDown();
+        final long[] nextExpected = new long[producers];
+        int received = 0;
+        while(received < producers * itemsPerProducer) {
+            final long[] item = ringBuffer.poll();
+            if(item == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(nextExpected[(int) item[0]]++, item[1]);
+            received++;
+        }
+
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(ringBuffer.poll());
+    }
+}
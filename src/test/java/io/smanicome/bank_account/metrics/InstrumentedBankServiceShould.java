@@ -0,0 +1,92 @@
+package io.smanicome.bank_account.metrics;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.IBankService;
+import io.smanicome.bank_account.OperationResult;
+import io.smanicome.bank_account.exceptions.ClientNotFoundException;
+import io.smanicome.bank_account.exceptions.NegativeBalanceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedBankServiceShould {
+    @Mock
+    private IBankService delegate;
+
+    private final BankMetrics metrics = new BankMetrics();
+
+    @Test
+    void recordLatencyOfEachOperation() throws ClientNotFoundException, NegativeBalanceException {
+        final var service = new InstrumentedBankService(delegate, metrics);
+        final var clientId = UUID.randomUUID();
+
+        service.deposit(clientId, Amount.ZERO, "deposit");
+        service.deposit(clientId, Amount.ZERO, "deposit");
+        service.withdraw(clientId, Amount.ZERO);
+        service.printAccountStatement(clientId);
+
+        final var latencies = metrics.snapshot().latencies();
+        assertEquals(2, latencies.get(TimedOperation.DEPOSIT).count());
+        assertEquals(1, latencies.get(TimedOperation.WITHDRAW).count());
+        assertEquals(1, latencies.get(TimedOperation.PRINT_STATEMENT).count());
+        assertEquals(0, latencies.get(TimedOperation.APPLY_BATCH).count());
+    }
+
+    @Test
+    void countRejectedOperations() throws ClientNotFoundException, NegativeBalanceException {
+        final var service = new InstrumentedBankService(delegate, metrics);
+        final var clientId = UUID.randomUUID();
+
+        when(delegate.withdraw(any(), any())).thenThrow(new NegativeBalanceException()).thenThrow(new ClientNotFoundException());
+
+        assertThrows(NegativeBalanceException.class, () -> service.withdraw(clientId, Amount.ZERO));
+        assertThrows(ClientNotFoundException.class, () -> service.withdraw(clientId, Amount.ZERO));
+
+        final var snapshot = metrics.snapshot();
+        assertEquals(1L, snapshot.outcomes().get(CountedOutcome.NEGATIVE_BALANCE));
+        assertEquals(1L, snapshot.outcomes().get(CountedOutcome.CLIENT_NOT_FOUND));
+        assertEquals(2, snapshot.latencies().get(TimedOperation.WITHDRAW).count());
+    }
+
+    @Test
+    void countRejectedOutcomes() {
+        final var service = new InstrumentedBankService(delegate, metrics);
+        final var clientId = UUID.randomUUID();
+        final var insufficientFunds = new OperationResult.InsufficientFunds(clientId, Amount.ZERO, Amount.ZERO);
+        final var unknownClient = new OperationResult.UnknownClient(clientId);
+
+        when(delegate.tryWithdraw(any(), any())).thenReturn(insufficientFunds).thenReturn(unknownClient);
+
+        assertEquals(insufficientFunds, service.tryWithdraw(clientId, Amount.ZERO));
+        assertEquals(unknownClient, service.tryWithdraw(clientId, Amount.ZERO));
+
+        final var snapshot = metrics.snapshot();
+        assertEquals(1L, snapshot.outcomes().get(CountedOutcome.NEGATIVE_BALANCE));
+        assertEquals(1L, snapshot.outcomes().get(CountedOutcome.CLIENT_NOT_FOUND));
+        assertEquals(2, snapshot.latencies().get(TimedOperation.WITHDRAW).count());
+    }
+
+    @Test
+    void exposeMetricsThroughJmx() throws Exception {
+        final var server = ManagementFactory.getPlatformMBeanServer();
+        final var objectName = metrics.registerMBean(server, "test-" + UUID.randomUUID());
+        try {
+            new InstrumentedBankService(delegate, metrics).deposit(UUID.randomUUID(), Amount.ZERO, "deposit");
+
+            final var counts = (TabularData) server.getAttribute(objectName, "LatencyCounts");
+            assertEquals(1L, counts.get(new Object[] {TimedOperation.DEPOSIT.metricName()}).get("value"));
+        } finally {
+            server.unregisterMBean(objectName);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.smanicome.bank_account.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramShould {
+    @Test
+    void mapValuesToContiguousBuckets() {
+        int previousBucket = -1;
+        for(long value = 0; value < 1_000_000; value++) {
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(bucket == previousBucket || bucket == previousBucket + 1);
+            assertTrue(LatencyHistogram.highestValueOf(bucket) >= value);
+            previousBucket = bucket;
+        }
+    }
+
+    @Test
+    void keepRelativeErrorBelowFourPercent() {
+        for(long value = 1; value < Long.MAX_VALUE / 4; value = value * 3 + 1) {
+            final long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+            assertTrue((highest - value) <= value / 25, "value " + value + " reported as " + highest);
+        }
+    }
+
+    @Test
+    void reportPercentiles() {
+        final var histogram = new LatencyHistogram();
+        for(long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        final var snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.count());
+        assertEquals(500_500, snapshot.meanNanos(), 0.001);
+        assertEquals(500_000, snapshot.p50Nanos(), 500_000 / 25.0);
+        assertEquals(990_000, snapshot.p99Nanos(), 990_000 / 25.0);
+        assertEquals(1_000_000, snapshot.maxNanos());
+    }
+
+    @Test
+    void reportEmptySnapshot() {
+        assertEquals(HistogramSnapshot.EMPTY, new LatencyHistogram().snapshot());
+    }
+}
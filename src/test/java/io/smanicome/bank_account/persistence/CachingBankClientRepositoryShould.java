@@ -0,0 +1,103 @@
+package io.smanicome.bank_account.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBankClientRepositoryShould {
+    @Mock
+    private BankClientRepository delegate;
+
+    @Test
+    void answerKnownClientsFromCache() {
+        final var clientId = UUID.randomUUID();
+        when(delegate.findAllIds()).thenAnswer(invocation -> Stream.of(clientId));
+        when(delegate.existsById(clientId)).thenReturn(true);
+        final var repository = new CachingBankClientRepository(delegate, 1024, 1000);
+
+        assertTrue(repository.existsById(clientId));
+        assertTrue(repository.existsById(clientId));
+
+        verify(delegate, times(1)).existsById(clientId);
+        assertEquals(new CacheStats(1, 1, 0), repository.stats());
+    }
+
+    @Test
+    void answerUnknownClientsFromBloomFilter() {
+        final var knownClients = Stream.generate(UUID::randomUUID).limit(1000).toList();
+        when(delegate.findAllIds()).thenAnswer(invocation -> knownClients.stream());
+        final var repository = new CachingBankClientRepository(delegate, 1024, knownClients.size());
+
+        final var unknownClients = Stream.generate(UUID::randomUUID).limit(1000).toList();
+        unknownClients.forEach(clientId -> assertFalse(repository.existsById(clientId)));
+
+        final var stats = repository.stats();
+        assertEquals(1000, stats.negativeHits() + stats.misses());
+        assertTrue(stats.negativeHits() > 950);
+        verify(delegate, times((int) stats.misses())).existsById(any());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedClients() {
+        final var clients = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(delegate.findAllIds()).thenAnswer(invocation -> clients.stream());
+        when(delegate.existsById(any())).thenReturn(true);
+        final var repository = new CachingBankClientRepository(delegate, 2, clients.size());
+
+        clients.forEach(repository::existsById);
+        repository.existsById(clients.get(0));
+
+        verify(delegate, times(2)).existsById(clients.get(0));
+    }
+
+    @Test
+    void reloadClientAfterInvalidation() {
+        final var clientId = UUID.randomUUID();
+        when(delegate.findAllIds()).thenAnswer(invocation -> Stream.empty());
+        final var repository = new CachingBankClientRepository(delegate, 1024, 1000);
+
+        assertFalse(repository.existsById(clientId));
+        verify(delegate, never()).existsById(clientId);
+
+        when(delegate.existsById(clientId)).thenReturn(true);
+        repository.invalidate(clientId);
+
+        assertTrue(repository.existsById(clientId));
+        assertTrue(repository.existsById(clientId));
+        verify(delegate).existsById(clientId);
+        assertEquals(new CacheStats(1, 1, 1), repository.stats());
+    }
+
+    @Test
+    void keepClientsRegisteredWhileRebuilding() throws InterruptedException {
+        final var registeredDuringRebuild = UUID.randomUUID();
+        final var repository = new CachingBankClientRepository(delegate, 1024, 1000);
+        final var rebuilding = new CountDownLatch(1);
+        final var registered = new CountDownLatch(1);
+        when(delegate.findAllIds()).thenAnswer(invocation -> {
+            rebuilding.countDown();
+            registered.await();
+            return Stream.empty();
+        });
+        when(delegate.existsById(registeredDuringRebuild)).thenReturn(true);
+
+        final Thread rebuild = Thread.ofPlatform().start(repository::invalidateAll);
+        rebuilding.await();
+        repository.invalidate(registeredDuringRebuild);
+        registered.countDown();
+        rebuild.join();
+
+        assertTrue(repository.existsById(registeredDuringRebuild));
+        assertEquals(new CacheStats(0, 1, 0), repository.stats());
+    }
+}
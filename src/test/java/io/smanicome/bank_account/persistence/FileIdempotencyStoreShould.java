@@ -0,0 +1,196 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileIdempotencyStoreShould {
+    private final InMemoryIdempotencyStoreShould.MutableClock clock = new InMemoryIdempotencyStoreShould.MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private final InMemoryBankOperationRepository operations = new InMemoryBankOperationRepository();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void keepRememberedOperationsAcrossRestarts() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+        final var operation = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.WITHDRAWAL, Amount.ofMinorUnits(250), Amount.ofMinorUnits(750), LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_789), "withdrawal");
+        final var unlabelled = new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(1), Amount.ofMinorUnits(751), LocalDateTime.of(2024, 1, 1, 12, 1), null);
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.remember(clientId, "clé-1", operation);
+            store.remember(clientId, "key-2", unlabelled);
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertEquals(Optional.of(operation), store.find(clientId, "clé-1"));
+            assertEquals(Optional.of(unlabelled), store.find(clientId, "key-2"));
+        }
+    }
+
+    @Test
+    void dropExpiredKeysOnRestart() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.remember(clientId, "old", InMemoryIdempotencyStoreShould.deposit(clientId));
+            clock.advance(Duration.ofMinutes(8));
+            store.remember(clientId, "recent", InMemoryIdempotencyStoreShould.deposit(clientId));
+        }
+        clock.advance(Duration.ofMinutes(5));
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertEquals(Optional.empty(), store.find(clientId, "old"));
+            assertTrue(store.find(clientId, "recent").isPresent());
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    void ignoreTornTailRecord() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.remember(clientId, "key-1", InMemoryIdempotencyStoreShould.deposit(clientId));
+            store.remember(clientId, "key-2", InMemoryIdempotencyStoreShould.deposit(clientId));
+        }
+        final long length = Files.size(file);
+        try(var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length - 5);
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertTrue(store.find(clientId, "key-1").isPresent());
+            assertEquals(Optional.empty(), store.find(clientId, "key-2"));
+            store.remember(clientId, "key-3", InMemoryIdempotencyStoreShould.deposit(clientId));
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertTrue(store.find(clientId, "key-1").isPresent());
+            assertTrue(store.find(clientId, "key-3").isPresent());
+        }
+    }
+
+    @Test
+    void recoverPreparedKeyWhoseOperationWasSaved() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+        final var operation = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(100), Amount.ofMinorUnits(100), LocalDateTime.of(2024, 1, 1, 12, 0), "salary");
+        final BankOperation saved;
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.prepare(clientId, "key-1", operation);
+            saved = operations.save(operation);
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertEquals(Optional.of(saved), store.find(clientId, "key-1"));
+        }
+    }
+
+    @Test
+    void dropPreparedKeyWhoseOperationWasLost() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.prepare(clientId, "key-1", InMemoryIdempotencyStoreShould.deposit(clientId));
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertEquals(Optional.empty(), store.find(clientId, "key-1"));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void compactWhileRunning() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 4, operations)) {
+            for(int i = 0; i < 20; i++) {
+                store.remember(clientId, "key-" + i, InMemoryIdempotencyStoreShould.deposit(clientId));
+            }
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 4, operations)) {
+            assertEquals(4, store.size());
+            assertTrue(store.find(clientId, "key-19").isPresent());
+            assertEquals(Optional.empty(), store.find(clientId, "key-15"));
+        }
+    }
+
+    @Test
+    void recoverRecordsFromRotatedLogAfterCrash() throws IOException, NegativeAmountException {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            store.remember(clientId, "key-1", InMemoryIdempotencyStoreShould.deposit(clientId));
+        }
+        Files.move(file, directory.resolve("idempotency.log.rotated"));
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertTrue(store.find(clientId, "key-1").isPresent());
+        }
+        assertFalse(Files.exists(directory.resolve("idempotency.log.rotated")));
+    }
+
+    @Test
+    void keepConcurrentWritesAcrossBackgroundCompactions() throws Exception {
+        final var file = directory.resolve("idempotency.log");
+        final var clientId = UUID.randomUUID();
+        final List<String> remembered = new CopyOnWriteArrayList<>();
+        final List<String> live;
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            final List<Thread> writers = new ArrayList<>();
+            for(int writer = 0; writer < 4; writer++) {
+                final int id = writer;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    for(int i = 0; i < 500; i++) {
+                        final String key = id + "-" + i;
+                        try {
+                            store.remember(clientId, key, InMemoryIdempotencyStoreShould.deposit(clientId));
+                        } catch (NegativeAmountException e) {
+                            throw new AssertionError(e);
+                        }
+                        remembered.add(key);
+                    }
+                }));
+            }
+            for(Thread writer : writers) {
+                writer.join();
+            }
+            live = remembered.stream().filter(key -> store.find(clientId, key).isPresent()).toList();
+        }
+
+        try(var store = FileIdempotencyStore.open(file, clock, Duration.ofMinutes(10), 100, operations)) {
+            assertEquals(100, live.size());
+            assertEquals(100, store.size());
+            live.forEach(key -> assertTrue(store.find(clientId, key).isPresent(), key));
+        }
+    }
+}
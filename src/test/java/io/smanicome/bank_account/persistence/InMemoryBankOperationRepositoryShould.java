@@ -0,0 +1,157 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryBankOperationRepositoryShould {
+    private final InMemoryBankOperationRepository repository = new InMemoryBankOperationRepository();
+
+    @Test
+    void assignIdOnSave() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        final var saved = repository.save(deposit(clientId, 10, 10));
+
+        assertNotNull(saved.id());
+        assertEquals(Optional.of(saved), repository.findLatestOperationByClientId(clientId));
+    }
+
+    @Test
+    void returnNothingForUnknownClient() {
+        final var clientId = UUID.randomUUID();
+
+        assertEquals(Optional.empty(), repository.findLatestOperationByClientId(clientId));
+        assertEquals(List.of(), repository.findByAccountId(clientId));
+    }
+
+    @Test
+    void findBalanceAtInstant() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        repository.save(deposit(clientId, 10, 10, start));
+        repository.save(deposit(clientId, 5, 15, start.plusDays(1)));
+
+        assertEquals(Amount.ZERO, repository.findBalanceAt(clientId, start.minusSeconds(1)));
+        assertEquals(Amount.of(BigDecimal.TEN), repository.findBalanceAt(clientId, start.plusHours(1)));
+        assertEquals(Amount.of(BigDecimal.valueOf(15)), repository.findBalanceAt(clientId, start.plusDays(1)));
+    }
+
+    @Test
+    void storeSharedLabelInstance() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        for(int i = 0; i < 3; i++) {
+            final var operation = deposit(clientId, 1, i + 1);
+            saved.add(repository.save(new BankOperation(operation.id(), clientId, operation.operationType(), operation.amount(), operation.balance(), operation.date(), new String("salary"))));
+        }
+
+        assertSame(saved.get(1).label(), saved.get(2).label());
+        assertEquals(saved, repository.findByAccountId(clientId));
+    }
+
+    @Test
+    void keepHistoryPerClientInSaveOrder() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var otherClientId = UUID.randomUUID();
+
+        final var first = repository.save(deposit(clientId, 10, 10));
+        repository.save(deposit(otherClientId, 5, 5));
+        final var second = repository.save(deposit(clientId, 20, 30));
+
+        assertEquals(List.of(first, second), repository.findByAccountId(clientId));
+        assertEquals(Optional.of(second), repository.findLatestOperationByClientId(clientId));
+    }
+
+    @Test
+    void returnImmutableSnapshotOfHistory() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var first = repository.save(deposit(clientId, 10, 10));
+
+        final var snapshot = repository.findByAccountId(clientId);
+        for(int i = 0; i < 100; i++) {
+            repository.save(deposit(clientId, 1, 11 + i));
+        }
+
+        assertEquals(List.of(first), snapshot);
+        assertEquals(101, repository.findByAccountId(clientId).size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(first));
+    }
+
+    @Test
+    void findOperationsInDateRange() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        final var operations = new ArrayList<BankOperation>();
+        for(int i = 0; i < 10; i++) {
+            operations.add(repository.save(deposit(clientId, 1, i + 1, start.plusDays(i))));
+        }
+
+        assertEquals(operations.subList(2, 5), repository.findByAccountIdBetween(clientId, start.plusDays(2), start.plusDays(5)));
+        assertEquals(operations, repository.findByAccountIdBetween(clientId, start.minusDays(1), start.plusDays(30)));
+        assertEquals(List.of(), repository.findByAccountIdBetween(clientId, start.plusDays(30), start.plusDays(40)));
+    }
+
+    @Test
+    void pageThroughLatestOperations() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        final var operations = new ArrayList<BankOperation>();
+        for(int i = 0; i < 7; i++) {
+            operations.add(repository.save(deposit(clientId, 1, i + 1, start.plusHours(i / 2))));
+        }
+
+        final var firstPage = repository.findLatestOperations(clientId, 3);
+        assertEquals(operations.subList(4, 7), firstPage.operations());
+
+        final var secondPage = repository.findOperationsBefore(clientId, firstPage.next().orElseThrow(), 3);
+        assertEquals(operations.subList(1, 4), secondPage.operations());
+
+        final var lastPage = repository.findOperationsBefore(clientId, secondPage.next().orElseThrow(), 3);
+        assertEquals(operations.subList(0, 1), lastPage.operations());
+        assertEquals(Optional.empty(), lastPage.next());
+    }
+
+    @Test
+    void keepDateOrderWhenSavedOutOfOrder() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        final var first = repository.save(deposit(clientId, 1, 1, start));
+        final var third = repository.save(deposit(clientId, 1, 2, start.plusDays(2)));
+        final var snapshot = repository.findByAccountId(clientId);
+        final var second = repository.save(deposit(clientId, 1, 3, start.plusDays(1)));
+
+        assertEquals(List.of(first, second, third), repository.findByAccountId(clientId));
+        assertEquals(List.of(first, third), snapshot);
+        assertEquals(Optional.of(second), repository.findLatestOperationByClientId(clientId));
+    }
+
+    private static BankOperation deposit(UUID clientId, long amount, long balance) throws NegativeAmountException {
+        return deposit(clientId, amount, balance, LocalDateTime.now());
+    }
+
+    private static BankOperation deposit(UUID clientId, long amount, long balance, LocalDateTime date) throws NegativeAmountException {
+        return new BankOperation(
+                null,
+                clientId,
+                BankOperation.OperationType.DEPOSIT,
+                Amount.of(BigDecimal.valueOf(amount)),
+                Amount.of(BigDecimal.valueOf(balance)),
+                date,
+                "deposit"
+        );
+    }
+}
@@ -0,0 +1,97 @@
+package io.smanicome.bank_account.persistence;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryIdempotencyStoreShould {
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    @Test
+    void findRememberedOperationOfSameClientOnly() throws NegativeAmountException {
+        final var store = new InMemoryIdempotencyStore(clock, Duration.ofMinutes(10), 100);
+        final var clientId = UUID.randomUUID();
+        final var operation = deposit(clientId);
+
+        store.remember(clientId, "key", operation);
+
+        assertEquals(Optional.of(operation), store.find(clientId, "key"));
+        assertEquals(Optional.empty(), store.find(clientId, "other"));
+        assertEquals(Optional.empty(), store.find(UUID.randomUUID(), "key"));
+    }
+
+    @Test
+    void forgetKeysOutsideRetentionWindow() throws NegativeAmountException {
+        final var store = new InMemoryIdempotencyStore(clock, Duration.ofMinutes(10), 100);
+        final var clientId = UUID.randomUUID();
+        store.remember(clientId, "old", deposit(clientId));
+
+        clock.advance(Duration.ofMinutes(6));
+        store.remember(clientId, "recent", deposit(clientId));
+        clock.advance(Duration.ofMinutes(5));
+
+        assertEquals(Optional.empty(), store.find(clientId, "old"));
+        assertTrue(store.find(clientId, "recent").isPresent());
+
+        store.remember(clientId, "newest", deposit(clientId));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void evictOldestKeysBeyondMaximumSize() throws NegativeAmountException {
+        final var store = new InMemoryIdempotencyStore(clock, Duration.ofMinutes(10), 3);
+        final var clientId = UUID.randomUUID();
+
+        for(int i = 0; i < 5; i++) {
+            store.remember(clientId, "key-" + i, deposit(clientId));
+        }
+
+        assertEquals(3, store.size());
+        assertEquals(Optional.empty(), store.find(clientId, "key-1"));
+        assertTrue(store.find(clientId, "key-2").isPresent());
+        assertTrue(store.find(clientId, "key-4").isPresent());
+    }
+
+    static BankOperation deposit(UUID clientId) throws NegativeAmountException {
+        return new BankOperation(UUID.randomUUID(), clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(100), Amount.ofMinorUnits(100), LocalDateTime.of(2024, 1, 1, 12, 0), "deposit");
+    }
+
+    static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
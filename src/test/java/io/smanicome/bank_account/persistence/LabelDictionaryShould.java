@@ -0,0 +1,112 @@
+package io.smanicome.bank_account.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LabelDictionaryShould {
+    private final LabelDictionary dictionary = new LabelDictionary(4);
+
+    @Test
+    void mapNullToNoLabel() {
+        assertEquals(LabelDictionary.NO_LABEL, dictionary.idOf(null));
+        assertNull(dictionary.labelOf(LabelDictionary.NO_LABEL));
+        assertNull(dictionary.canonical(null));
+    }
+
+    @Test
+    void internLabelOnSecondSighting() {
+        assertEquals(LabelDictionary.NOT_INTERNED, dictionary.idOf("salary"));
+
+        final int id = dictionary.idOf(new String("salary"));
+
+        assertTrue(id >= 0);
+        assertEquals(id, dictionary.idOf("salary"));
+        assertEquals("salary", dictionary.labelOf(id));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void returnSharedInstanceForInternedLabel() {
+        final String first = new String("rent");
+        dictionary.canonical(first);
+        final String canonical = dictionary.canonical(new String("rent"));
+
+        assertSame(canonical, dictionary.canonical(new String("rent")));
+        assertEquals("rent", canonical);
+    }
+
+    @Test
+    void lookUpCanonicalLabelWithoutCountingSighting() {
+        final String label = new String("rent");
+
+        assertSame(label, dictionary.lookupCanonical(label));
+        assertSame(label, dictionary.lookupCanonical(label));
+        assertEquals(0, dictionary.size());
+
+        dictionary.idOf("rent");
+        dictionary.idOf("rent");
+
+        assertSame(dictionary.canonical("rent"), dictionary.lookupCanonical(new String("rent")));
+    }
+
+    @Test
+    void returnOneOffLabelUnchanged() {
+        final String label = new String("transfer to 42");
+
+        assertSame(label, dictionary.canonical(label));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    void stopInterningOnceFull() {
+        for(int i = 0; i < 10; i++) {
+            dictionary.idOf("label-" + i);
+            dictionary.idOf("label-" + i);
+        }
+
+        assertEquals(4, dictionary.size());
+        assertEquals(LabelDictionary.NOT_INTERNED, dictionary.idOf("label-9"));
+        assertTrue(dictionary.idOf("label-0") >= 0);
+    }
+
+    @Test
+    void assignOneIdPerLabelUnderContention() throws Exception {
+        final var shared = new LabelDictionary(1_000);
+        final List<CompletableFuture<List<Integer>>> results = new ArrayList<>();
+
+        try(ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for(int thread = 0; thread < 8; thread++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    final List<Integer> ids = new ArrayList<>();
+                    for(int round = 0; round < 3; round++) {
+                        for(int i = 0; i < 500; i++) {
+                            ids.add(shared.idOf("label-" + i));
+                        }
+                    }
+                    return ids;
+                }, executor));
+            }
+        }
+
+        final Set<Integer> distinct = new HashSet<>();
+        for(CompletableFuture<List<Integer>> result : results) {
+            distinct.addAll(result.get());
+        }
+        distinct.remove(LabelDictionary.NOT_INTERNED);
+
+        assertEquals(500, shared.size());
+        assertEquals(500, distinct.size());
+        for(int i = 0; i < 500; i++) {
+            assertEquals("label-" + i, shared.labelOf(shared.idOf("label-" + i)));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.smanicome.bank_account.persistence.columnar;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnSlabsShould {
+    @Test
+    void carveRegionsFromOneSlab() {
+        final var slabs = new ColumnSlabs(4096);
+
+        final var first = slabs.allocate(8);
+        final var second = slabs.allocate(8);
+
+        assertSame(first.slab(), second.slab());
+        assertTrue(second.offset() >= first.offset() + 8 * OperationColumns.ROW_BYTES);
+        assertEquals(0, second.offset() % Long.BYTES);
+        assertEquals(4096, slabs.reservedBytes());
+    }
+
+    @Test
+    void reuseReleasedRegionOfSameCapacity() {
+        final var slabs = new ColumnSlabs(4096);
+        final var region = slabs.allocate(8);
+
+        slabs.release(region);
+
+        assertSame(region, slabs.allocate(8));
+        assertNotSame(region, slabs.allocate(8));
+    }
+
+    @Test
+    void allocateOversizedRegionOnItsOwn() {
+        final var slabs = new ColumnSlabs(1024);
+
+        final var region = slabs.allocate(64);
+
+        assertEquals(0, region.offset());
+        assertEquals(64 * OperationColumns.ROW_BYTES, region.slab().capacity());
+        assertEquals(64 * OperationColumns.ROW_BYTES, slabs.reservedBytes());
+    }
+}
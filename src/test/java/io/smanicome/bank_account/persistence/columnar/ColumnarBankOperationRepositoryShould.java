@@ -0,0 +1,243 @@
+package io.smanicome.bank_account.persistence.columnar;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.LabelDictionary;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static io.smanicome.bank_account.TestOperations.operation;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarBankOperationRepositoryShould {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123_456_000);
+
+    private final ColumnarBankOperationRepository repository = new ColumnarBankOperationRepository();
+
+    @Test
+    void assignIdOnSave() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        final var saved = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 10, 10, START, "deposit"));
+
+        assertNotNull(saved.id());
+        assertEquals(Optional.of(saved), repository.findLatestOperationByClientId(clientId));
+    }
+
+    @Test
+    void returnNothingForUnknownClient() {
+        final var clientId = UUID.randomUUID();
+
+        assertEquals(Optional.empty(), repository.findLatestOperationByClientId(clientId));
+        assertEquals(List.of(), repository.findByAccountId(clientId));
+        assertEquals(List.of(), repository.findByAccountIdBetween(clientId, START, START.plusDays(1)));
+    }
+
+    @Test
+    void readBackEveryColumn() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var random = new Random(18);
+        final List<BankOperation> saved = new ArrayList<>();
+        long balance = 0;
+
+        for(int i = 0; i < 1_000; i++) {
+            final boolean deposit = balance == 0 || random.nextBoolean();
+            final long amount = deposit ? 1 + random.nextInt(1_000_000) : 1 + (long) (random.nextDouble() * balance);
+            balance += deposit ? amount : -amount;
+            final String label = i % 10 == 0 ? null : "label-" + random.nextInt(20);
+            saved.add(repository.save(operation(
+                    clientId,
+                    deposit ? BankOperation.OperationType.DEPOSIT : BankOperation.OperationType.WITHDRAWAL,
+                    amount,
+                    balance,
+                    START.plusSeconds(i).plusNanos(random.nextInt(1_000_000) * 1_000L),
+                    label)));
+        }
+
+        assertEquals(saved, repository.findByAccountId(clientId));
+        assertEquals(Optional.of(saved.getLast()), repository.findLatestOperationByClientId(clientId));
+        assertEquals(1_000, repository.operationCount());
+        assertTrue(repository.offHeapBytes() >= 1_000L * OperationColumns.ROW_BYTES);
+    }
+
+    @Test
+    void truncateDatesToMicroseconds() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        final var saved = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 1, START.plusNanos(789), "deposit"));
+
+        assertEquals(START, saved.date());
+        assertEquals(List.of(saved), repository.findByAccountId(clientId));
+    }
+
+    @Test
+    void keepDatesBeforeEpoch() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var date = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+
+        final var saved = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 1, date, "deposit"));
+
+        assertEquals(List.of(saved), repository.findByAccountId(clientId));
+    }
+
+    @Test
+    void returnImmutableSnapshotOfHistory() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var first = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 10, 10, START, "deposit"));
+
+        final var snapshot = repository.findByAccountId(clientId);
+        for(int i = 0; i < 100; i++) {
+            repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 11 + i, START.plusMinutes(i), "deposit"));
+        }
+
+        assertEquals(List.of(first), snapshot);
+        assertEquals(101, repository.findByAccountId(clientId).size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(first));
+    }
+
+    @Test
+    void findOperationsInDateRange() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var operations = new ArrayList<BankOperation>();
+        for(int i = 0; i < 10; i++) {
+            operations.add(repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, i + 1, START.plusDays(i), "deposit")));
+        }
+
+        assertEquals(operations.subList(2, 5), repository.findByAccountIdBetween(clientId, START.plusDays(2), START.plusDays(5)));
+        assertEquals(operations, repository.findByAccountIdBetween(clientId, START.minusDays(1), START.plusDays(30)));
+        assertEquals(List.of(), repository.findByAccountIdBetween(clientId, START.plusDays(30), START.plusDays(40)));
+    }
+
+    @Test
+    void pageThroughLatestOperations() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var operations = new ArrayList<BankOperation>();
+        for(int i = 0; i < 7; i++) {
+            operations.add(repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, i + 1, START.plusHours(i / 2), "deposit")));
+        }
+
+        final var firstPage = repository.findLatestOperations(clientId, 3);
+        assertEquals(operations.subList(4, 7), firstPage.operations());
+
+        final var secondPage = repository.findOperationsBefore(clientId, firstPage.next().orElseThrow(), 3);
+        assertEquals(operations.subList(1, 4), secondPage.operations());
+
+        final var lastPage = repository.findOperationsBefore(clientId, secondPage.next().orElseThrow(), 3);
+        assertEquals(operations.subList(0, 1), lastPage.operations());
+        assertEquals(Optional.empty(), lastPage.next());
+    }
+
+    @Test
+    void keepDateOrderWhenSavedOutOfOrder() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        final var first = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 1, START, "first"));
+        final var third = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 2, START.plusDays(2), "third"));
+        final var snapshot = repository.findByAccountId(clientId);
+        final var second = repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, 3, START.plusDays(1), "second"));
+
+        assertEquals(List.of(first, second, third), repository.findByAccountId(clientId));
+        assertEquals(List.of(first, third), snapshot);
+        assertEquals(Optional.of(second), repository.findLatestOperationByClientId(clientId));
+    }
+
+    @Test
+    void findBalanceAtInstant() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 10, 10, START, "first"));
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 5, 15, START.plusDays(2), "third"));
+        repository.save(operation(clientId, BankOperation.OperationType.WITHDRAWAL, 8, 2, START.plusDays(1), "second"));
+
+        assertEquals(Amount.ZERO, repository.findBalanceAt(clientId, START.minusNanos(1_000)));
+        assertEquals(Amount.ofMinorUnits(10), repository.findBalanceAt(clientId, START.plusNanos(999)));
+        assertEquals(Amount.ofMinorUnits(2), repository.findBalanceAt(clientId, START.plusDays(1)));
+        assertEquals(Amount.ofMinorUnits(15), repository.findBalanceAt(clientId, START.plusDays(3)));
+        assertEquals(Amount.ZERO, repository.findBalanceAt(UUID.randomUUID(), START));
+        assertEquals(Amount.ofMinorUnits(15), repository.findBalanceAt(clientId, LocalDateTime.MAX));
+        assertEquals(Amount.ZERO, repository.findBalanceAt(clientId, LocalDateTime.MIN));
+    }
+
+    @Test
+    void shareLabelInstanceAcrossReads() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        for(int i = 0; i < 3; i++) {
+            repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, i + 1, START.plusSeconds(i), new String("salary")));
+        }
+
+        final var operations = repository.findByAccountId(clientId);
+        assertSame(operations.get(1).label(), operations.get(2).label());
+        assertSame(operations.get(2).label(), repository.findByAccountId(clientId).get(2).label());
+    }
+
+    @Test
+    void keepLabelsThatDoNotFitInDictionary() throws NegativeAmountException {
+        final var small = new ColumnarBankOperationRepository(16, new LabelDictionary(2));
+        final var clientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        for(int i = 0; i < 20; i++) {
+            saved.add(small.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, i + 1, START.plusSeconds(i), "label-" + (i % 5))));
+        }
+
+        assertEquals(saved, small.findByAccountId(clientId));
+        assertEquals(5, small.rareLabelCount(clientId));
+    }
+
+    @Test
+    void storeRepeatedRareLabelOncePerClient() throws NegativeAmountException {
+        final var full = new LabelDictionary(1);
+        full.idOf("filler");
+        full.idOf("filler");
+        final var small = new ColumnarBankOperationRepository(16, full);
+        final var clientId = UUID.randomUUID();
+        final var otherClientId = UUID.randomUUID();
+
+        for(int i = 0; i < 100; i++) {
+            small.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 1, i + 1, START.plusSeconds(i), "coffee"));
+        }
+        small.save(operation(otherClientId, BankOperation.OperationType.DEPOSIT, 1, 1, START, "coffee"));
+
+        assertEquals(1, small.rareLabelCount(clientId));
+        assertEquals(1, small.rareLabelCount(otherClientId));
+        assertEquals("coffee", small.findByAccountId(clientId).get(99).label());
+        assertEquals("coffee", small.findLatestOperationByClientId(otherClientId).orElseThrow().label());
+    }
+
+    @Test
+    void packSmallHistoriesIntoSharedSlabs() throws NegativeAmountException {
+        for(int i = 0; i < 1_000; i++) {
+            repository.save(operation(UUID.randomUUID(), BankOperation.OperationType.DEPOSIT, 1, 1, START, "deposit"));
+        }
+
+        assertEquals(ColumnSlabs.DEFAULT_SLAB_BYTES, repository.offHeapBytes());
+    }
+
+    @Test
+    void keepHistoriesAcrossSlabsAndOversizedRegions() throws NegativeAmountException {
+        final var small = new ColumnarBankOperationRepository(16, new LabelDictionary(), 1024);
+        final var clients = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        final List<List<BankOperation>> saved = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        for(int i = 0; i < 100; i++) {
+            for(int client = 0; client < clients.size(); client++) {
+                final var date = i % 7 == 6 ? START.plusSeconds(i - 3) : START.plusSeconds(i);
+                saved.get(client).add(small.save(operation(clients.get(client), BankOperation.OperationType.DEPOSIT, 1, i + 1, date, "deposit")));
+            }
+        }
+
+        for(int client = 0; client < clients.size(); client++) {
+            final var expected = saved.get(client).stream().sorted(Comparator.comparing(BankOperation::date)).toList();
+            assertEquals(expected, small.findByAccountId(clients.get(client)));
+        }
+    }
+}
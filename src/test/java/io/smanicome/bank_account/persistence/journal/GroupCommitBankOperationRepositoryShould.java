@@ -0,0 +1,167 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static io.smanicome.bank_account.TestOperations.deposit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GroupCommitBankOperationRepositoryShould {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 30);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void persistConcurrentSavesInFewerCommits() throws Exception {
+        final int writers = 16;
+        final int savesPerWriter = 20;
+        final List<UUID> clients = new ArrayList<>();
+        for(int i = 0; i < writers; i++) {
+            clients.add(UUID.randomUUID());
+        }
+
+        final long commits;
+        try(var repository = new GroupCommitBankOperationRepository(JournalBankOperationRepository.open(directory), 64, Duration.ofMillis(5))) {
+            final var start = new CountDownLatch(1);
+            final List<Thread> threads = new ArrayList<>();
+            for(UUID clientId : clients) {
+                threads.add(Thread.ofVirtual().start(() -> {
+                    try {
+                        start.await();
+                        for(int i = 0; i < savesPerWriter; i++) {
+                            final BankOperation saved = repository.save(deposit(clientId, 1, i + 1, START.plusMinutes(i)));
+                            assertNotNull(saved.id());
+                        }
+                    } catch (InterruptedException | NegativeAmountException e) {
+                        throw new RuntimeException(e);
+                    }
+                }));
+            }
+            start.countDown();
+            for(Thread thread : threads) {
+                thread.join();
+            }
+            commits = repository.commits();
+        }
+
+        assertTrue(commits < writers * savesPerWriter, "expected grouped commits but got " + commits);
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            for(UUID clientId : clients) {
+                assertEquals(savesPerWriter, repository.findByAccountId(clientId).size());
+            }
+        }
+    }
+
+    @Test
+    void splitGroupResultsBetweenCallers() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        try(var repository = new GroupCommitBankOperationRepository(JournalBankOperationRepository.open(directory), 2, Duration.ZERO)) {
+            final var saved = repository.saveAll(List.of(
+                    deposit(clientId, 1, 1, START),
+                    deposit(clientId, 1, 2, START.plusMinutes(1)),
+                    deposit(clientId, 1, 3, START.plusMinutes(2))));
+
+            assertEquals(3, saved.size());
+            assertEquals(saved, repository.findByAccountId(clientId));
+            assertEquals(List.of(), repository.saveAll(List.of()));
+        }
+    }
+
+    @Test
+    void rejectSavesAfterClose() throws IOException, NegativeAmountException {
+        final var repository = new GroupCommitBankOperationRepository(JournalBankOperationRepository.open(directory), 8, Duration.ZERO);
+        repository.close();
+
+        final var operation = deposit(UUID.randomUUID(), 1, 1, START);
+        assertThrows(IllegalStateException.class, () -> repository.save(operation));
+    }
+
+    @Test
+    void rejectUnjournalableWriteBeforeGrouping() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var operation = deposit(clientId, 1, 1, START);
+        final var tooLong = new BankOperation(null, clientId, operation.operationType(), operation.amount(), operation.balance(), START, "a".repeat(0x10000));
+
+        try(var repository = new GroupCommitBankOperationRepository(JournalBankOperationRepository.open(directory), 64, Duration.ofMillis(5))) {
+            assertThrows(IllegalArgumentException.class, () -> repository.save(tooLong));
+
+            final var saved = repository.save(operation);
+            assertEquals(List.of(saved), repository.findByAccountId(clientId));
+        }
+    }
+
+    @Test
+    void failOnlyTheWriteThatBreaksTheGroup() throws Exception {
+        final var delegate = mock(JournalBankOperationRepository.class);
+        when(delegate.saveAll(any())).thenAnswer(invocation -> {
+            final List<BankOperation> operations = invocation.getArgument(0);
+            if(operations.stream().anyMatch(operation -> "poison".equals(operation.label()))) throw new IllegalStateException("poison");
+            return operations;
+        });
+        final var operation = deposit(UUID.randomUUID(), 1, 1, START);
+        final var poison = new BankOperation(null, operation.clientId(), operation.operationType(), operation.amount(), operation.balance(), START, "poison");
+
+        try(var repository = new GroupCommitBankOperationRepository(delegate, 2, Duration.ofMillis(200))) {
+            final var healthy = CompletableFuture.supplyAsync(() -> repository.save(operation));
+            final var failing = CompletableFuture.supplyAsync(() -> repository.save(poison));
+
+            assertEquals(operation, healthy.get());
+            final var error = assertThrows(Exception.class, failing::get);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+    }
+
+    @Test
+    void failGroupAndLaterWritesWhenForceFails() throws NegativeAmountException {
+        final var delegate = mock(JournalBankOperationRepository.class);
+        when(delegate.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        final var diskError = new UncheckedIOException(new IOException("disk"));
+        doThrow(diskError).doNothing().when(delegate).force();
+        final var operation = deposit(UUID.randomUUID(), 1, 1, START);
+
+        try(var repository = new GroupCommitBankOperationRepository(delegate, 64, Duration.ZERO)) {
+            assertSame(diskError, assertThrows(UncheckedIOException.class, () -> repository.save(operation)));
+
+            final var rejected = assertThrows(IllegalStateException.class, () -> repository.save(operation));
+            assertSame(diskError, rejected.getCause());
+        }
+
+        verify(delegate, times(1)).saveAll(any());
+    }
+
+    @Test
+    void rejectWritesOnceCommitterIsInterrupted() throws Exception {
+        final var delegate = mock(JournalBankOperationRepository.class);
+        final var operation = deposit(UUID.randomUUID(), 1, 1, START);
+
+        try(var repository = new GroupCommitBankOperationRepository(delegate, 64, Duration.ZERO)) {
+            final Thread committer = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals("journal-group-commit"))
+                    .findFirst()
+                    .orElseThrow();
+            committer.interrupt();
+            committer.join();
+
+            assertThrows(IllegalStateException.class, () -> repository.save(operation));
+        }
+
+        verify(delegate, never()).saveAll(any());
+    }
+}
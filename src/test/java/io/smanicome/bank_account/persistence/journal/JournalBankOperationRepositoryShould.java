@@ -0,0 +1,302 @@
+package io.smanicome.bank_account.persistence.journal;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.LabelDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static io.smanicome.bank_account.TestOperations.deposit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalBankOperationRepositoryShould {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 30, 15, 123_456_789);
+    private static final int RECORD_LENGTH = 88;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void recoverOperationsAfterReopening() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var otherClientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            for(int i = 0; i < 5; i++) {
+                saved.add(repository.save(deposit(clientId, 100, (i + 1) * 100, START.plusMinutes(i))));
+                repository.save(deposit(otherClientId, 100, 100, START.plusMinutes(i)));
+            }
+        }
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(saved, repository.findByAccountId(clientId));
+            assertEquals(Optional.of(saved.get(4)), repository.findLatestOperationByClientId(clientId));
+            assertEquals(5, repository.findByAccountId(otherClientId).size());
+        }
+    }
+
+    @Test
+    void rollOverToNewSegments() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        try(var repository = JournalBankOperationRepository.open(directory, RECORD_LENGTH * 3 + 40)) {
+            for(int i = 0; i < 10; i++) {
+                saved.add(repository.save(deposit(clientId, 100, (i + 1) * 100, START.plusMinutes(i))));
+            }
+            assertEquals(saved, repository.findByAccountId(clientId));
+        }
+
+        try(var files = Files.list(directory)) {
+            assertEquals(4, files.count());
+        }
+        try(var repository = JournalBankOperationRepository.open(directory, RECORD_LENGTH * 3 + 40)) {
+            assertEquals(saved, repository.findByAccountId(clientId));
+        }
+    }
+
+    @Test
+    void truncateTornTailRecord() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            for(int i = 0; i < 3; i++) {
+                saved.add(repository.save(deposit(clientId, 100, (i + 1) * 100, START.plusMinutes(i))));
+            }
+        }
+        corrupt(RECORD_LENGTH * 2 + 60);
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(saved.subList(0, 2), repository.findByAccountId(clientId));
+
+            final var next = repository.save(deposit(clientId, 100, 1000, START.plusMinutes(5)));
+            assertEquals(List.of(saved.get(0), saved.get(1), next), repository.findByAccountId(clientId));
+        }
+    }
+
+    @Test
+    void dropIncompleteBatchOnRecovery() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var otherClientId = UUID.randomUUID();
+
+        final BankOperation first;
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            first = repository.save(deposit(clientId, 100, 100, START));
+            repository.saveAll(List.of(deposit(clientId, 100, 200, START.plusMinutes(1)), deposit(otherClientId, 100, 300, START.plusMinutes(1))));
+        }
+        corrupt(RECORD_LENGTH * 2 + 60);
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(List.of(first), repository.findByAccountId(clientId));
+            assertEquals(List.of(), repository.findByAccountId(otherClientId));
+        }
+    }
+
+    @Test
+    void queryRangesAndPagesByFollowingClientChain() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final List<BankOperation> saved = new ArrayList<>();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            for(int i = 0; i < 10; i++) {
+                saved.add(repository.save(deposit(clientId, 100, (i + 1) * 100, START.plusDays(i))));
+                repository.save(deposit(UUID.randomUUID(), 100, 100, START.plusDays(i)));
+            }
+
+            assertEquals(saved.subList(3, 6), repository.findByAccountIdBetween(clientId, START.plusDays(3), START.plusDays(6)));
+
+            final var firstPage = repository.findLatestOperations(clientId, 4);
+            assertEquals(saved.subList(6, 10), firstPage.operations());
+
+            final var secondPage = repository.findOperationsBefore(clientId, firstPage.next().orElseThrow(), 4);
+            assertEquals(saved.subList(2, 6), secondPage.operations());
+
+            final var lastPage = repository.findOperationsBefore(clientId, secondPage.next().orElseThrow(), 4);
+            assertEquals(saved.subList(0, 2), lastPage.operations());
+            assertEquals(Optional.empty(), lastPage.next());
+        }
+    }
+
+    @Test
+    void returnHistoryInDateOrderWhenSavedOutOfOrder() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            final var first = repository.save(deposit(clientId, 100, 100, START));
+            final var third = repository.save(deposit(clientId, 100, 200, START.plusDays(2)));
+            final var second = repository.save(deposit(clientId, 100, 300, START.plusDays(1)));
+
+            assertEquals(List.of(first, second, third), repository.findByAccountId(clientId));
+            assertEquals(List.of(second), repository.findByAccountIdBetween(clientId, START.plusDays(1), START.plusDays(2)));
+            assertEquals(Optional.of(second), repository.findLatestOperationByClientId(clientId));
+        }
+    }
+
+    @Test
+    void restoreSameBalancesFromCheckpointAsFromFullReplay() throws IOException, NegativeAmountException {
+        final var random = new Random(7);
+        final List<UUID> clients = new ArrayList<>();
+        for(int i = 0; i < 200; i++) {
+            clients.add(UUID.randomUUID());
+        }
+
+        try(var repository = JournalBankOperationRepository.open(directory, 64 * 1024)) {
+            for(int i = 0; i < 5_000; i++) {
+                if(i == 2_500) {
+                    repository.checkpoint();
+                }
+                final var clientId = clients.get(random.nextInt(clients.size()));
+                repository.save(deposit(clientId, 100, random.nextInt(1_000) * 100, START.plusSeconds(i)));
+            }
+        }
+
+        final Path replayDirectory = Files.createDirectory(directory.resolve("replay"));
+        try(var files = Files.list(directory)) {
+            for(Path file : files.filter(path -> path.getFileName().toString().endsWith(".seg")).toList()) {
+                Files.copy(file, replayDirectory.resolve(file.getFileName()));
+            }
+        }
+
+        try(var restored = JournalBankOperationRepository.open(directory, 64 * 1024);
+            var replayed = JournalBankOperationRepository.open(replayDirectory, 64 * 1024)) {
+            for(UUID clientId : clients) {
+                assertEquals(replayed.findLatestBalance(clientId), restored.findLatestBalance(clientId));
+                assertEquals(replayed.findLatestOperationByClientId(clientId), restored.findLatestOperationByClientId(clientId));
+                assertEquals(replayed.findByAccountId(clientId), restored.findByAccountId(clientId));
+            }
+        }
+    }
+
+    @Test
+    void replayOnlyOperationsAfterCheckpoint() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        final BankOperation afterCheckpoint;
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            repository.save(deposit(clientId, 100, 100, START));
+            repository.save(deposit(clientId, 100, 200, START.plusMinutes(1)));
+            repository.checkpoint();
+            afterCheckpoint = repository.save(deposit(clientId, 100, 300, START.plusMinutes(2)));
+        }
+        corrupt(JournalRecord.HEADER_LENGTH + 1);
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(Optional.of(afterCheckpoint), repository.findLatestOperationByClientId(clientId));
+            assertEquals(3, repository.findByAccountId(clientId).size());
+        }
+    }
+
+    @Test
+    void findBalanceAtInstantByWalkingBackFromHead() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var unorderedClientId = UUID.randomUUID();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            for(int i = 0; i < 5; i++) {
+                repository.save(deposit(clientId, 100, (i + 1) * 100, START.plusMinutes(i)));
+            }
+            repository.save(deposit(unorderedClientId, 100, 200, START.plusMinutes(2)));
+            repository.save(deposit(unorderedClientId, 100, 100, START));
+            repository.checkpoint();
+        }
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(Amount.ZERO, repository.findBalanceAt(clientId, START.minusNanos(1)));
+            assertEquals(Amount.ofMinorUnits(100), repository.findBalanceAt(clientId, START));
+            assertEquals(Amount.ofMinorUnits(300), repository.findBalanceAt(clientId, START.plusMinutes(2).plusSeconds(30)));
+            assertEquals(Amount.ofMinorUnits(500), repository.findBalanceAt(clientId, START.plusDays(1)));
+            assertEquals(Amount.ofMinorUnits(100), repository.findBalanceAt(unorderedClientId, START.plusMinutes(1)));
+            assertEquals(Amount.ZERO, repository.findBalanceAt(UUID.randomUUID(), START));
+        }
+    }
+
+    @Test
+    void roundTripNullAndEmptyLabels() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var operation = deposit(clientId, 100, 100, START);
+        final List<BankOperation> saved = new ArrayList<>();
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            saved.add(repository.save(new BankOperation(null, clientId, operation.operationType(), operation.amount(), operation.balance(), START, null)));
+            saved.add(repository.save(new BankOperation(null, clientId, operation.operationType(), operation.amount(), operation.balance(), START.plusMinutes(1), "")));
+            assertEquals(saved, repository.findByAccountId(clientId));
+        }
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(saved, repository.findByAccountId(clientId));
+            assertNull(repository.findByAccountId(clientId).get(0).label());
+        }
+    }
+
+    @Test
+    void notInternOneOffLabelsWhenReadingHistory() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var labels = new LabelDictionary(16);
+
+        try(var repository = JournalBankOperationRepository.open(directory, JournalBankOperationRepository.DEFAULT_SEGMENT_SIZE, labels)) {
+            for(int i = 0; i < 20; i++) {
+                final var operation = deposit(clientId, 100, (i + 1) * 100, START.plusMinutes(i));
+                repository.save(new BankOperation(null, clientId, operation.operationType(), operation.amount(), operation.balance(), operation.date(), "one-off " + i));
+            }
+
+            repository.findByAccountId(clientId);
+            repository.findByAccountId(clientId);
+
+            assertEquals(0, labels.size());
+        }
+    }
+
+    @Test
+    void rollBackFailedBatch() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var tooLong = new BankOperation(null, clientId, BankOperation.OperationType.DEPOSIT, Amount.ofMinorUnits(100), Amount.ofMinorUnits(300), START.plusMinutes(2), "a".repeat(0x10000));
+
+        final BankOperation first;
+        final BankOperation next;
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            first = repository.save(deposit(clientId, 100, 100, START));
+            assertThrows(IllegalArgumentException.class, () -> repository.saveAll(List.of(deposit(clientId, 100, 200, START.plusMinutes(1)), tooLong)));
+            next = repository.save(deposit(clientId, 100, 300, START.plusMinutes(3)));
+        }
+
+        try(var repository = JournalBankOperationRepository.open(directory)) {
+            assertEquals(List.of(first, next), repository.findByAccountId(clientId));
+        }
+    }
+
+    @Test
+    void rejectReadsAndWritesAfterClose() throws IOException, NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var repository = JournalBankOperationRepository.open(directory);
+        repository.save(deposit(clientId, 100, 100, START));
+
+        repository.close();
+
+        assertThrows(IllegalStateException.class, () -> repository.findByAccountId(clientId));
+        assertThrows(IllegalStateException.class, () -> repository.findBalanceAt(clientId, START));
+        final var operation = deposit(clientId, 100, 200, START.plusMinutes(1));
+        assertThrows(IllegalStateException.class, () -> repository.save(operation));
+    }
+
+    private void corrupt(long position) throws IOException {
+        try(var channel = FileChannel.open(directory.resolve("journal-00000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), position);
+        }
+    }
+}
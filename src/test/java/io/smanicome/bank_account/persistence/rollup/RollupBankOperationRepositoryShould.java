@@ -0,0 +1,116 @@
+package io.smanicome.bank_account.persistence.rollup;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.InMemoryBankOperationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static io.smanicome.bank_account.TestOperations.operation;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollupBankOperationRepositoryShould {
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    private final InMemoryBankOperationRepository operations = new InMemoryBankOperationRepository();
+    private final RollupBankOperationRepository repository = new RollupBankOperationRepository(operations);
+
+    @Test
+    void aggregateOperationsPerDay() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 100, 100, DAY.atTime(9, 0)));
+        repository.save(operation(clientId, BankOperation.OperationType.WITHDRAWAL, 30, 70, DAY.atTime(12, 0)));
+        repository.saveAll(List.of(
+                operation(clientId, BankOperation.OperationType.DEPOSIT, 50, 120, DAY.plusDays(2).atTime(8, 0)),
+                operation(clientId, BankOperation.OperationType.WITHDRAWAL, 20, 100, DAY.plusDays(2).atTime(18, 0))));
+
+        assertEquals(List.of(
+                new DailyRollup(DAY, 2, Amount.ofMinorUnits(100), Amount.ofMinorUnits(30), Amount.ofMinorUnits(70)),
+                new DailyRollup(DAY.plusDays(2), 2, Amount.ofMinorUnits(50), Amount.ofMinorUnits(20), Amount.ofMinorUnits(100))
+        ), repository.findDailyRollups(clientId, DAY, DAY.plusDays(3)));
+        assertEquals(4, operations.findByAccountId(clientId).size());
+    }
+
+    @Test
+    void keepClosingBalanceOfLatestOperationWhenSavedOutOfOrder() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 10, 40, DAY.atTime(20, 0)));
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 30, 30, DAY.atTime(8, 0)));
+
+        assertEquals(
+                List.of(new DailyRollup(DAY, 2, Amount.ofMinorUnits(40), Amount.ZERO, Amount.ofMinorUnits(40))),
+                repository.findDailyRollups(clientId, DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void summarizePeriodWithClosingBalanceCarriedFromEarlierDays() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+
+        repository.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 100, 100, DAY.atStartOfDay()));
+        repository.save(operation(clientId, BankOperation.OperationType.WITHDRAWAL, 40, 60, DAY.plusDays(5).atStartOfDay()));
+
+        assertEquals(
+                new PeriodRollup(DAY.plusDays(1), DAY.plusDays(3), 0, Amount.ZERO, Amount.ZERO, Amount.ofMinorUnits(100)),
+                repository.summarize(clientId, DAY.plusDays(1), DAY.plusDays(3)));
+        assertEquals(
+                new PeriodRollup(DAY, DAY.plusDays(10), 2, Amount.ofMinorUnits(100), Amount.ofMinorUnits(40), Amount.ofMinorUnits(60)),
+                repository.summarize(clientId, DAY, DAY.plusDays(10)));
+        assertEquals(
+                new PeriodRollup(DAY, DAY.plusDays(1), 0, Amount.ZERO, Amount.ZERO, Amount.ZERO),
+                repository.summarize(UUID.randomUUID(), DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void matchAggregatesComputedFromFullHistory() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var random = new Random(25);
+        long balance = 0;
+
+        for(int i = 0; i < 2_000; i++) {
+            final boolean deposit = balance == 0 || random.nextBoolean();
+            final long amount = deposit ? 1 + random.nextInt(10_000) : 1 + (long) (random.nextDouble() * balance);
+            balance += deposit ? amount : -amount;
+            repository.save(operation(
+                    clientId,
+                    deposit ? BankOperation.OperationType.DEPOSIT : BankOperation.OperationType.WITHDRAWAL,
+                    amount,
+                    balance,
+                    DAY.atStartOfDay().plusMinutes(i * 37L)));
+        }
+
+        final LocalDate from = DAY.plusDays(10);
+        final LocalDate to = DAY.plusDays(30);
+        final List<BankOperation> history = operations.findByAccountIdBetween(clientId, from.atStartOfDay(), to.atStartOfDay());
+        final long deposits = history.stream().filter(operation -> operation.operationType() == BankOperation.OperationType.DEPOSIT).mapToLong(operation -> operation.amount().toMinorUnits()).sum();
+        final long withdrawals = history.stream().filter(operation -> operation.operationType() == BankOperation.OperationType.WITHDRAWAL).mapToLong(operation -> operation.amount().toMinorUnits()).sum();
+
+        final var summary = repository.summarize(clientId, from, to);
+        assertEquals(history.size(), summary.operationCount());
+        assertEquals(Amount.ofMinorUnits(deposits), summary.deposits());
+        assertEquals(Amount.ofMinorUnits(withdrawals), summary.withdrawals());
+        assertEquals(history.getLast().balance(), summary.closingBalance());
+        assertEquals(20, repository.findDailyRollups(clientId, from, to).size());
+    }
+
+    @Test
+    void rebuildFromExistingHistory() throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        operations.save(operation(clientId, BankOperation.OperationType.DEPOSIT, 10, 10, DAY.atTime(9, 0)));
+        operations.save(operation(clientId, BankOperation.OperationType.WITHDRAWAL, 4, 6, DAY.atTime(10, 0)));
+
+        final var rebuilt = new RollupBankOperationRepository(operations);
+        rebuilt.rebuild(Stream.of(clientId));
+
+        assertEquals(
+                List.of(new DailyRollup(DAY, 2, Amount.ofMinorUnits(10), Amount.ofMinorUnits(4), Amount.ofMinorUnits(6))),
+                rebuilt.findDailyRollups(clientId, DAY, DAY.plusDays(1)));
+    }
+}
@@ -0,0 +1,108 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Statement;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import io.smanicome.bank_account.persistence.InMemoryBankOperationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+
+import static io.smanicome.bank_account.TestOperations.deposit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalStatementFormatterShould {
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 8, 30);
+
+    private final TabularStatementFormatter tabularFormatter = new TabularStatementFormatter();
+    private final InMemoryBankOperationRepository repository = new InMemoryBankOperationRepository();
+
+    @Test
+    void renderSameLinesAsTabularFormatterWhileHistoryGrows() throws NegativeAmountException, IOException {
+        final var formatter = new IncrementalStatementFormatter(tabularFormatter, 10_000);
+        final var random = new Random(19);
+        final var accountId = UUID.randomUUID();
+        var date = START;
+
+        for(int i = 0; i < 200; i++) {
+            date = date.plusSeconds(random.nextInt(3));
+            repository.save(deposit(accountId, 1 + random.nextInt(10_000), i, date));
+            if(random.nextInt(5) == 0) {
+                final var statement = statementOf(accountId, date.plusMinutes(1));
+                assertEquals(tabularFormatter.format(statement), formatter.format(statement));
+
+                final var streamed = new StringBuilder();
+                formatter.format(statement, streamed);
+                assertEquals(String.join(System.lineSeparator(), tabularFormatter.format(statement)) + System.lineSeparator(), streamed.toString());
+            }
+        }
+    }
+
+    @Test
+    void renderOnlyNewOperations() throws NegativeAmountException {
+        final var formatter = new IncrementalStatementFormatter(tabularFormatter, 10_000);
+        final var accountId = UUID.randomUUID();
+        for(int i = 0; i < 100; i++) {
+            repository.save(deposit(accountId, 1, i + 1, START.plusMinutes(i)));
+        }
+
+        formatter.format(statementOf(accountId, START));
+        assertEquals(100, formatter.renderedRows());
+
+        formatter.format(statementOf(accountId, START.plusDays(1)));
+        assertEquals(100, formatter.renderedRows());
+
+        repository.save(deposit(accountId, 1, 101, START.plusMinutes(100)));
+        repository.save(deposit(accountId, 1, 102, START.plusMinutes(100)));
+        final var statement = statementOf(accountId, START.plusDays(1));
+        assertEquals(tabularFormatter.format(statement), formatter.format(statement));
+        assertEquals(102, formatter.renderedRows());
+    }
+
+    @Test
+    void rerenderWhenOperationIsInsertedBeforeCachedRows() throws NegativeAmountException {
+        final var formatter = new IncrementalStatementFormatter(tabularFormatter, 10_000);
+        final var accountId = UUID.randomUUID();
+        for(int i = 0; i < 10; i++) {
+            repository.save(deposit(accountId, 1, i + 1, START.plusMinutes(i * 2)));
+        }
+        formatter.format(statementOf(accountId, START));
+
+        repository.save(deposit(accountId, 50, 60, START.plusMinutes(5)));
+        final var statement = statementOf(accountId, START);
+
+        assertEquals(tabularFormatter.format(statement), formatter.format(statement));
+        assertEquals(21, formatter.renderedRows());
+    }
+
+    @Test
+    void evictLeastRecentlyUsedStatementsBeyondRowBudget() throws NegativeAmountException {
+        final var formatter = new IncrementalStatementFormatter(tabularFormatter, 25);
+        final var first = UUID.randomUUID();
+        final var second = UUID.randomUUID();
+        final var third = UUID.randomUUID();
+        for(UUID accountId : new UUID[] { first, second, third }) {
+            for(int i = 0; i < 10; i++) {
+                repository.save(deposit(accountId, 1, i + 1, START.plusMinutes(i)));
+            }
+        }
+
+        formatter.format(statementOf(first, START));
+        formatter.format(statementOf(second, START));
+        formatter.format(statementOf(first, START));
+        formatter.format(statementOf(third, START));
+        assertEquals(20, formatter.cachedRows());
+        assertEquals(30, formatter.renderedRows());
+
+        formatter.format(statementOf(first, START));
+        assertEquals(30, formatter.renderedRows());
+        formatter.format(statementOf(second, START));
+        assertEquals(40, formatter.renderedRows());
+    }
+
+    private Statement statementOf(UUID accountId, LocalDateTime date) {
+        return new Statement(accountId, repository.findByAccountId(accountId), date);
+    }
+}
@@ -0,0 +1,95 @@
+package io.smanicome.bank_account.visual;
+
+import io.smanicome.bank_account.Amount;
+import io.smanicome.bank_account.BankOperation;
+import io.smanicome.bank_account.Statement;
+import io.smanicome.bank_account.exceptions.NegativeAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingStatementWriterShould {
+    private final TabularStatementFormatter formatter = new TabularStatementFormatter();
+
+    @Test
+    void writeSameOutputAsFormatPrintWriterForSortedHistory() throws NegativeAmountException {
+        final var statement = statementOf(operations(false));
+
+        assertArrayEquals(printed(statement), streamedToChannel(statement));
+    }
+
+    @Test
+    void writeSameOutputAsFormatPrintWriterForUnsortedHistory() throws NegativeAmountException {
+        final var statement = statementOf(operations(true));
+
+        assertArrayEquals(printed(statement), streamedToChannel(statement));
+    }
+
+    @Test
+    void writeSameOutputAsFormatPrintWriterForEmptyHistory() {
+        final var statement = statementOf(List.of());
+
+        assertArrayEquals(printed(statement), streamedToChannel(statement));
+    }
+
+    @Test
+    void appendToAppendable() throws NegativeAmountException {
+        final var statement = statementOf(operations(false));
+        final var out = new StringBuilder();
+
+        new StreamingStatementWriter(formatter, out).write(statement);
+
+        assertEquals(new String(printed(statement), StandardCharsets.UTF_8), out.toString());
+    }
+
+    private byte[] printed(Statement statement) {
+        final var bytes = new ByteArrayOutputStream();
+        new FormatPrintStatementWriter(formatter, new PrintStream(bytes, true, StandardCharsets.UTF_8)).write(statement);
+        return bytes.toByteArray();
+    }
+
+    private byte[] streamedToChannel(Statement statement) {
+        final var bytes = new ByteArrayOutputStream();
+        StreamingStatementWriter.toChannel(formatter, Channels.newChannel(bytes), StandardCharsets.UTF_8).write(statement);
+        return bytes.toByteArray();
+    }
+
+    private static Statement statementOf(List<BankOperation> operations) {
+        return new Statement(UUID.randomUUID(), operations, LocalDateTime.of(2024, 1, 31, 12, 0));
+    }
+
+    private static List<BankOperation> operations(boolean shuffled) throws NegativeAmountException {
+        final var clientId = UUID.randomUUID();
+        final var start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        final var operations = new ArrayList<BankOperation>();
+        long balance = 0;
+        for(int i = 0; i < 50; i++) {
+            final long amount = 10 + i;
+            balance += amount;
+            operations.add(new BankOperation(
+                    UUID.randomUUID(),
+                    clientId,
+                    i % 2 == 0 ? BankOperation.OperationType.DEPOSIT : BankOperation.OperationType.WITHDRAWAL,
+                    Amount.of(BigDecimal.valueOf(amount)),
+                    Amount.of(BigDecimal.valueOf(balance)),
+                    start.plusMinutes(i / 3),
+                    "label " + i
+            ));
+        }
+        if(shuffled) {
+            final var first = operations.remove(0);
+            operations.add(first);
+        }
+        return operations;
+    }
+}
@@ -11,7 +11,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -162,4 +165,91 @@ class TabularStatementFormatterShould {
 
         assertEquals(expectedLines, lines);
     }
-}
\ No newline at end of file
+
+    @Test
+    void keepSaveOrderForOperationsAtTheSameDate() throws NegativeAmountException {
+        final var formatter = new TabularStatementFormatter();
+
+        final var accountId = UUID.randomUUID();
+        final var operationDate = LocalDateTime.now();
+        final var statementDate = operationDate.plusMinutes(10);
+
+        final var formattedOperationDate = operationDate.format(FORMATTER);
+        final var formattedStatementDate = statementDate.format(FORMATTER);
+
+        final var operations = List.of(
+                new BankOperation(
+                        UUID.randomUUID(),
+                        accountId,
+                        BankOperation.OperationType.DEPOSIT,
+                        Amount.of(BigDecimal.valueOf(2000)),
+                        Amount.of(BigDecimal.valueOf(2000)),
+                        operationDate,
+                        "deposit"
+                ),
+                new BankOperation(
+                        UUID.randomUUID(),
+                        accountId,
+                        BankOperation.OperationType.WITHDRAWAL,
+                        Amount.of(BigDecimal.valueOf(500)),
+                        Amount.of(BigDecimal.valueOf(1500)),
+                        operationDate,
+                        "withdrawal"
+                )
+        );
+
+        final var statement = new Statement(
+                accountId,
+                operations,
+                statementDate
+        );
+
+        final var expectedLines = List.of(
+                "| ----------------------------------------------------------- |",
+                "| STATEMENT OF ACCOUNT N°" + accountId + " |",
+                "|                     " + formattedStatementDate + "                     |",
+                "|                       BALANCE 2000.00                       |",
+                "| ----------------------------------------------------------- |",
+                "| TYPE       |         DATE        |                   AMOUNT |",
+                "| ----------------------------------------------------------- |",
+                "| DEPOSIT    | " + formattedOperationDate + " |                  2000.00 |",
+                "| WITHDRAWAL | " + formattedOperationDate + " |                   500.00 |",
+                "| ----------------------------------------------------------- |"
+        );
+
+        final var lines = formatter.format(statement);
+
+        assertEquals(expectedLines, lines);
+    }
+
+    @Test
+    void renderSameLinesAsLegacyFormatter() throws NegativeAmountException {
+        final var formatter = new TabularStatementFormatter();
+        final var legacyFormatter = new LegacyTabularStatementFormatter();
+        final var random = new Random(42);
+
+        for(int iteration = 0; iteration < 200; iteration++) {
+            final var accountId = UUID.randomUUID();
+            final var operations = new ArrayList<BankOperation>();
+            var date = LocalDateTime.of(random.nextInt(-10, 12000), 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+            for(int i = 0; i < random.nextInt(20); i++) {
+                date = date.plusSeconds(random.nextInt(3));
+                operations.add(new BankOperation(
+                        UUID.randomUUID(),
+                        accountId,
+                        random.nextBoolean() ? BankOperation.OperationType.DEPOSIT : BankOperation.OperationType.WITHDRAWAL,
+                        Amount.ofMinorUnits(random.nextBoolean() ? random.nextInt(100_000) : random.nextLong(Long.MAX_VALUE)),
+                        Amount.ofMinorUnits(random.nextInt(100_000)),
+                        date,
+                        "label"
+                ));
+            }
+            if(random.nextInt(4) == 0) {
+                Collections.shuffle(operations, random);
+            }
+            final var statement = new Statement(accountId, operations, date.plusMinutes(random.nextInt(100)));
+
+            assertEquals(legacyFormatter.format(statement), formatter.format(statement));
+        }
+    }
+}